@@ -0,0 +1,40 @@
+package sudoku.bench;
+
+import sudoku.LineFormatCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+// Puzzle sets shared by the benchmarks, read from the line format files next to
+// this class. The files are checked in rather than generated at setup, so runs on
+// different commits measure the same boards even when the generator changes
+final class Corpora {
+
+    private Corpora() {
+    }
+
+    // Puzzles of a corpus: a difficulty name (EASY, STANDARD, HARD, EXTREME) for 64
+    // generated unique-solution puzzles, or HARDEST for well known slow puzzles
+    static int[][][] puzzles(String corpus) throws IOException {
+        String name = corpus.toLowerCase() + ".txt";
+        List<int[][]> puzzles = new ArrayList<>();
+        try (InputStream in = Corpora.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No corpus named " + corpus);
+            }
+            LineFormatCodec.read(Channels.newChannel(in), board -> puzzles.add(board.toArray()));
+        }
+        return puzzles.toArray(new int[0][][]);
+    }
+
+    static int[][] copy(int[][] board) {
+        int[][] copy = new int[9][];
+        for (int row = 0; row < 9; row++) {
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
+}
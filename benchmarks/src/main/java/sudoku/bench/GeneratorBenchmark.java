@@ -0,0 +1,76 @@
+package sudoku.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.PuzzleGenerator;
+import sudoku.SudokuPuzzle;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+    private PuzzleGenerator generator;
+
+    @State(Scope.Thread)
+    public static class Target {
+        @Param({"EASY", "STANDARD", "HARD", "EXTREME"})
+        SudokuPuzzle.Difficulty difficulty;
+    }
+
+    // Rating band of DifficultyGrader, as min-max
+    @State(Scope.Thread)
+    public static class Band {
+        @Param({"15-15", "23-26", "30-36", "38-45", "100-100"})
+        String band;
+
+        int minRating;
+        int maxRating;
+
+        @Setup
+        public void setUp() {
+            int dash = band.indexOf('-');
+            minRating = Integer.parseInt(band.substring(0, dash));
+            maxRating = Integer.parseInt(band.substring(dash + 1));
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        generator = new PuzzleGenerator(new Random(42));
+    }
+
+    @Benchmark
+    public int[][] generateSolvedBoard() {
+        return generator.generateSolvedBoard();
+    }
+
+    @Benchmark
+    public int[][] generatePuzzle(Target target) {
+        return generator.generatePuzzle(target.difficulty);
+    }
+
+    @Benchmark
+    public int[][] generateUniquePuzzle(Target target) {
+        return generator.generateUniquePuzzle(target.difficulty);
+    }
+
+    @Benchmark
+    public int[][] generateRatedPuzzle(Band band) {
+        return generator.generateRatedPuzzle(band.minRating, band.maxRating);
+    }
+}
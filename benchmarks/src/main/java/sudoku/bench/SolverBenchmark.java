@@ -0,0 +1,51 @@
+package sudoku.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.SudokuSolver;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Solvability check (solving a copy of the givens, as SudokuPuzzle does) over
+// fixed corpora. Each invocation solves the next puzzle of the corpus
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class SolverBenchmark {
+    // A generated difficulty, or HARDEST for the well known slow puzzles, see Corpora
+    @Param({"EASY", "STANDARD", "HARD", "EXTREME", "HARDEST"})
+    String corpus;
+
+    @Param({"BACKTRACKING", "DANCING_LINKS", "PARALLEL"})
+    SudokuSolver.Engine engine;
+
+    private int[][][] puzzles;
+    private SudokuSolver solver;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        puzzles = Corpora.puzzles(corpus);
+        solver = engine.create();
+    }
+
+    @Benchmark
+    public boolean isSolvable() {
+        int[][] board = Corpora.copy(puzzles[next]);
+        next = (next + 1) % puzzles.length;
+        return solver.solve(board);
+    }
+}
@@ -0,0 +1,61 @@
+package sudoku.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sudoku.BoardState;
+import sudoku.SudokuPuzzle;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ValidationBenchmark {
+    private BoardState partial;
+    private SudokuPuzzle solved;
+    private SudokuPuzzle unsolved;
+
+    @Setup
+    public void setUp() throws IOException {
+        int[][] puzzle = Corpora.puzzles("HARD")[0];
+        partial = new BoardState(puzzle);
+        unsolved = new SudokuPuzzle(puzzle);
+        solved = new SudokuPuzzle(unsolved.getSolution());
+    }
+
+    // Every number in every cell of a partly filled board, 729 checks per invocation
+    @Benchmark
+    public int isValidMove() {
+        int valid = 0;
+        for (int cell = 0; cell < BoardState.CELLS; cell++) {
+            for (int num = 1; num <= 9; num++) {
+                if (partial.isValidMove(cell, num)) {
+                    valid++;
+                }
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return solved.isValid();
+    }
+
+    @Benchmark
+    public boolean isConsistent() {
+        return unsolved.isConsistent();
+    }
+}
@@ -0,0 +1,243 @@
+package sudoku;
+
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+// Depth-first backtracking solver running on BoardState candidate masks.
+// Each search level works on its own copy of the state, so constraint
+// propagation can run at every node and backtracking is just dropping a level.
+// The search is driven by an explicit, preallocated stack instead of recursion,
+// so it can be stopped after a number of nodes or a deadline and resumed later.
+public class BacktrackingSolver implements SudokuSolver {
+    // Nodes expanded between two clock reads in resumeUntil
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+
+    private final BoardState[] levels = new BoardState[BoardState.CELLS + 1];
+    // Branching cell and candidates still to try at each level
+    private final int[] stackCells = new int[BoardState.CELLS + 1];
+    private final int[] stackCandidates = new int[BoardState.CELLS + 1];
+    private final BoardState solution = new BoardState();
+    private final ConstraintPropagator propagator = new ConstraintPropagator();
+    private RandomGenerator random;
+    private boolean propagation = true;
+    private CellOrdering cellOrdering = CellOrdering.MRV;
+    private Consumer<int[][]> consumer;
+    private int limit;
+    private int found;
+    private int depth;
+    private boolean finished = true;
+    private int initialEmptyCells;
+    private int searchedCells;
+    // Statistics of the current call, null when not requested
+    private SolverStats stats;
+
+    public BacktrackingSolver() {
+        this(null);
+    }
+
+    // Solver trying the candidates of each cell in random order, used to fill empty boards
+    public BacktrackingSolver(RandomGenerator random) {
+        this.random = random;
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new BoardState();
+        }
+    }
+
+    // Draw the candidate order from another stream, used when a generator is reseeded
+    void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    // Enable or disable constraint propagation before and during the search
+    public void setPropagation(boolean propagation) {
+        this.propagation = propagation;
+    }
+
+    // Strategy choosing the cell to branch on, MRV by default
+    public void setCellOrdering(CellOrdering cellOrdering) {
+        this.cellOrdering = cellOrdering;
+    }
+
+    // Cells of the last solution found that were placed by constraint propagation
+    public int getPropagatedCells() {
+        return initialEmptyCells - searchedCells;
+    }
+
+    // Cells of the last solution found that were placed by guessing
+    public int getSearchedCells() {
+        return searchedCells;
+    }
+
+    @Override
+    public boolean solve(int[][] board) {
+        if (enumerateSolutions(board, 1, null) == 0) {
+            return false;
+        }
+        solution.copyTo(board);
+        return true;
+    }
+
+    @Override
+    public int enumerateSolutions(int[][] board, int limit, Consumer<int[][]> consumer) {
+        start(board, limit, consumer);
+        resume(Long.MAX_VALUE);
+        return found;
+    }
+
+    @Override
+    public boolean solve(int[][] board, SolverStats stats) {
+        this.stats = stats;
+        try {
+            return SudokuSolver.super.solve(board, stats);
+        } finally {
+            this.stats = null;
+        }
+    }
+
+    @Override
+    public int enumerateSolutions(int[][] board, int limit, Consumer<int[][]> consumer, SolverStats stats) {
+        this.stats = stats;
+        try {
+            return SudokuSolver.super.enumerateSolutions(board, limit, consumer, stats);
+        } finally {
+            this.stats = null;
+        }
+    }
+
+    // Begin a search for up to limit solutions that is advanced by resume or resumeUntil
+    public void start(int[][] board, int limit, Consumer<int[][]> consumer) {
+        this.consumer = consumer;
+        this.limit = limit;
+        found = 0;
+        searchedCells = 0;
+        finished = limit <= 0 || !levels[0].load(board);
+        if (!finished) {
+            initialEmptyCells = BoardState.CELLS - levels[0].getFilledCells();
+            depth = 0;
+            finished = !enter(0) || found >= limit;
+        }
+        if (finished) {
+            this.consumer = null;
+        }
+    }
+
+    // Expand at most maxNodes more nodes, returns true once the search is finished
+    public boolean resume(long maxNodes) {
+        while (!finished && maxNodes > 0) {
+            // Drop levels whose candidates are exhausted
+            while (depth >= 0 && stackCandidates[depth] == 0) {
+                depth--;
+            }
+            if (depth < 0) {
+                finish();
+                break;
+            }
+
+            int candidates = stackCandidates[depth];
+            int bit = random == null ? candidates & -candidates : randomBit(candidates);
+            stackCandidates[depth] = candidates ^ bit;
+            if (stats != null && candidates != bit) {
+                stats.guesses++;
+            }
+
+            // Place the number on a copy of the current level and enter it
+            BoardState next = levels[depth + 1];
+            next.copyFrom(levels[depth]);
+            next.place(stackCells[depth], Integer.numberOfTrailingZeros(bit) + 1);
+            maxNodes--;
+            if (enter(depth + 1)) {
+                depth++;
+            }
+            if (found >= limit) {
+                finish();
+            }
+        }
+        return finished;
+    }
+
+    // Run the search until it finishes or the System.nanoTime deadline passes,
+    // returns true once the search is finished
+    public boolean resumeUntil(long deadlineNanos) {
+        while (!resume(CLOCK_CHECK_INTERVAL)) {
+            if (System.nanoTime() - deadlineNanos >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // Solutions found so far by the current or last search
+    public int getSolutionCount() {
+        return found;
+    }
+
+    // Copy the last solution found into the board, returns false if there is none
+    public boolean copySolution(int[][] board) {
+        if (found == 0) {
+            return false;
+        }
+        solution.copyTo(board);
+        return true;
+    }
+
+    // Propagate the level and push its branching cell, returns false if the level
+    // has nothing to branch on because it is either contradictory or solved
+    private boolean enter(int level) {
+        BoardState state = levels[level];
+        if (stats != null) {
+            stats.enterNode(level);
+        }
+        if (propagation) {
+            int placedBefore = propagator.getPlacedCells();
+            boolean consistent = propagator.propagate(state);
+            if (stats != null) {
+                stats.propagatedCells += propagator.getPlacedCells() - placedBefore;
+                if (!consistent) {
+                    stats.backtracks++;
+                }
+            }
+            if (!consistent) {
+                return false;
+            }
+        }
+
+        // Pick the empty cell to branch on
+        int cell = cellOrdering.selectCell(state);
+
+        // If no empty cell, the board is solved
+        if (cell == -1) {
+            found++;
+            searchedCells = level;
+            solution.copyFrom(state);
+            if (consumer != null) {
+                consumer.accept(state.toArray());
+            }
+            return false;
+        }
+
+        stackCells[level] = cell;
+        stackCandidates[level] = state.candidates(cell);
+        if (stats != null && stackCandidates[level] == 0) {
+            stats.backtracks++;
+        }
+        return true;
+    }
+
+    private void finish() {
+        finished = true;
+        consumer = null;
+    }
+
+    // Pick one of the set bits of mask uniformly at random. Drawing the candidates
+    // this way until the mask is empty shuffles them without building a list
+    private int randomBit(int mask) {
+        for (int skip = random.nextInt(Integer.bitCount(mask)); skip > 0; skip--) {
+            mask &= mask - 1;
+        }
+        return mask & -mask;
+    }
+}
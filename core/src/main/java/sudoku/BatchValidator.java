@@ -0,0 +1,80 @@
+package sudoku;
+
+import java.util.BitSet;
+
+// Validates many boards at once. Boards are packed 81 bytes each, one cell per
+// byte in row-major order with 0 for empty. When the jdk.incubator.vector
+// module is available (run with --add-modules jdk.incubator.vector) the work is
+// done by VectorBatchValidator, which checks one board per SIMD lane;
+// otherwise a scalar loop is used. Both give the same results.
+public final class BatchValidator {
+    public static final int BOARD_BYTES = BoardState.CELLS;
+
+    // Bit set for a digit, 0 for an empty cell and INVALID for anything outside 0-9
+    static final int INVALID = 1 << 9;
+    static final int[] CELL_MASKS = new int[256];
+
+    static {
+        for (int value = 0; value < 256; value++) {
+            CELL_MASKS[value] = value == 0 ? 0 : value <= 9 ? 1 << (value - 1) : INVALID;
+        }
+    }
+
+    private static final boolean VECTOR_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private BatchValidator() {
+    }
+
+    // Whether the SIMD implementation is in use
+    public static boolean isVectorized() {
+        return VECTOR_AVAILABLE;
+    }
+
+    // Validate count boards, returns a bit set with bit i set if board i is valid
+    public static BitSet validate(byte[] boards, int count, BoardValidator.Mode mode) {
+        if ((long) count * BOARD_BYTES > boards.length) {
+            throw new IllegalArgumentException("Array holds fewer than " + count + " boards");
+        }
+        long[] words = new long[(count + 63) / 64];
+        int done = VECTOR_AVAILABLE ? VectorBatchValidator.validate(boards, count, mode, words) : 0;
+        validateScalar(boards, done, count, mode, words);
+        return BitSet.valueOf(words);
+    }
+
+    // Pack boards into the 81-bytes-per-board layout
+    public static byte[] pack(CompactBoard... boards) {
+        byte[] packed = new byte[boards.length * BOARD_BYTES];
+        for (int i = 0; i < boards.length; i++) {
+            for (int cell = 0; cell < BOARD_BYTES; cell++) {
+                packed[i * BOARD_BYTES + cell] = (byte) boards[i].get(cell);
+            }
+        }
+        return packed;
+    }
+
+    // Validate boards from..to-1 one at a time, setting their bits in words
+    static void validateScalar(byte[] boards, int from, int to, BoardValidator.Mode mode, long[] words) {
+        boolean complete = mode == BoardValidator.Mode.COMPLETE;
+        for (int board = from; board < to; board++) {
+            int base = board * BOARD_BYTES;
+            boolean valid = true;
+            for (int[] unit : ConstraintPropagator.UNITS) {
+                int seen = 0;
+                int repeated = 0;
+                for (int cell : unit) {
+                    int mask = CELL_MASKS[boards[base + cell] & 0xFF];
+                    repeated |= seen & mask;
+                    seen |= mask;
+                }
+                if (complete ? seen != BoardState.ALL_DIGITS : (repeated | (seen & INVALID)) != 0) {
+                    valid = false;
+                    break;
+                }
+            }
+            if (valid) {
+                words[board >> 6] |= 1L << board;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package sudoku;
+
+// Sudoku board state backed by per-row, per-column and per-box digit masks.
+// Bit (num - 1) of a mask is set when num is already placed in that unit, so
+// a legality check is a single OR/AND and the candidates of a cell are the
+// complement of the three masks.
+public class BoardState {
+    public static final int SIZE = 9;
+    public static final int CELLS = SIZE * SIZE;
+    public static final int ALL_DIGITS = (1 << SIZE) - 1;
+
+    // Row, column and box index of every cell
+    static final int[] ROW_OF = new int[CELLS];
+    static final int[] COL_OF = new int[CELLS];
+    static final int[] BOX_OF = new int[CELLS];
+    // The 20 cells sharing a row, column or box with each cell
+    static final int[][] PEERS = new int[CELLS][20];
+
+    static {
+        for (int cell = 0; cell < CELLS; cell++) {
+            ROW_OF[cell] = cell / SIZE;
+            COL_OF[cell] = cell % SIZE;
+            BOX_OF[cell] = (ROW_OF[cell] / 3) * 3 + COL_OF[cell] / 3;
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            int count = 0;
+            for (int other = 0; other < CELLS; other++) {
+                if (other != cell && (ROW_OF[other] == ROW_OF[cell] || COL_OF[other] == COL_OF[cell]
+                        || BOX_OF[other] == BOX_OF[cell])) {
+                    PEERS[cell][count++] = other;
+                }
+            }
+        }
+    }
+
+    private final int[] cells = new int[CELLS];
+    private final int[] rowMasks = new int[SIZE];
+    private final int[] colMasks = new int[SIZE];
+    private final int[] boxMasks = new int[SIZE];
+    // Numbers ruled out of a cell by deduction rather than by its units
+    private final int[] excluded = new int[CELLS];
+    private int filledCells;
+
+    public BoardState() {
+    }
+
+    // Build a state from a 9x9 board, 0 meaning empty
+    public BoardState(int[][] board) {
+        load(board);
+    }
+
+    // Replace the current contents with the given 9x9 board, returns false if
+    // two of its numbers already conflict (the conflicting ones are left out)
+    public boolean load(int[][] board) {
+        clear();
+        boolean consistent = true;
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                int num = board[row][col];
+                if (num == 0) {
+                    continue;
+                }
+                if (isValidMove(row * SIZE + col, num)) {
+                    place(row * SIZE + col, num);
+                } else {
+                    consistent = false;
+                }
+            }
+        }
+        return consistent;
+    }
+
+    // Remove every number from the board
+    public void clear() {
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = 0;
+            excluded[i] = 0;
+        }
+        for (int i = 0; i < SIZE; i++) {
+            rowMasks[i] = 0;
+            colMasks[i] = 0;
+            boxMasks[i] = 0;
+        }
+        filledCells = 0;
+    }
+
+    // Place num in the cell and mark it as used in the cell's row, column and box
+    public void place(int cell, int num) {
+        int bit = 1 << (num - 1);
+        cells[cell] = num;
+        rowMasks[ROW_OF[cell]] |= bit;
+        colMasks[COL_OF[cell]] |= bit;
+        boxMasks[BOX_OF[cell]] |= bit;
+        filledCells++;
+    }
+
+    // Empty the cell and release its number in the cell's row, column and box
+    public void unplace(int cell) {
+        int bit = ~(1 << (cells[cell] - 1));
+        cells[cell] = 0;
+        rowMasks[ROW_OF[cell]] &= bit;
+        colMasks[COL_OF[cell]] &= bit;
+        boxMasks[BOX_OF[cell]] &= bit;
+        filledCells--;
+    }
+
+    // Copy another state into this one
+    public void copyFrom(BoardState other) {
+        System.arraycopy(other.cells, 0, cells, 0, CELLS);
+        System.arraycopy(other.excluded, 0, excluded, 0, CELLS);
+        System.arraycopy(other.rowMasks, 0, rowMasks, 0, SIZE);
+        System.arraycopy(other.colMasks, 0, colMasks, 0, SIZE);
+        System.arraycopy(other.boxMasks, 0, boxMasks, 0, SIZE);
+        filledCells = other.filledCells;
+    }
+
+    // Mask of the numbers that can still be placed in the cell
+    public int candidates(int cell) {
+        return ~(rowMasks[ROW_OF[cell]] | colMasks[COL_OF[cell]] | boxMasks[BOX_OF[cell]] | excluded[cell]) & ALL_DIGITS;
+    }
+
+    // Rule the numbers of mask out of the cell, returns true if any was still a candidate
+    public boolean exclude(int cell, int mask) {
+        if ((candidates(cell) & mask) == 0) {
+            return false;
+        }
+        excluded[cell] |= mask;
+        return true;
+    }
+
+    // Check if a number can be placed in a specific cell
+    public boolean isValidMove(int cell, int num) {
+        return (candidates(cell) & (1 << (num - 1))) != 0;
+    }
+
+    public int get(int cell) {
+        return cells[cell];
+    }
+
+    public int getFilledCells() {
+        return filledCells;
+    }
+
+    public boolean isFull() {
+        return filledCells == CELLS;
+    }
+
+    // Copy the board into a new 9x9 array
+    public int[][] toArray() {
+        int[][] board = new int[SIZE][SIZE];
+        copyTo(board);
+        return board;
+    }
+
+    // Copy the board into an existing 9x9 array
+    public void copyTo(int[][] board) {
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                board[row][col] = cells[row * SIZE + col];
+            }
+        }
+    }
+}
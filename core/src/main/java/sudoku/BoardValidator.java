@@ -0,0 +1,85 @@
+package sudoku;
+
+// Single-pass board validation: rows, columns and boxes are checked together
+// while walking the cells once, using digit bitmasks held in local variables,
+// so a validation allocates nothing.
+public final class BoardValidator {
+
+    public enum Mode {
+        // Every cell is filled and no unit repeats a number
+        COMPLETE,
+        // Empty cells are allowed, but no unit repeats a number
+        PARTIAL
+    }
+
+    private BoardValidator() {
+    }
+
+    public static boolean isValid(CompactBoard board, Mode mode) {
+        return check(board, null, mode == Mode.COMPLETE);
+    }
+
+    public static boolean isValid(int[][] board, Mode mode) {
+        return check(null, board, mode == Mode.COMPLETE);
+    }
+
+    // Reads cells from whichever board is given. Column and box masks are packed nine
+    // bits per unit into two longs each: units 0-6 in the low word, 7-8 in the high word
+    private static boolean check(CompactBoard compact, int[][] array, boolean complete) {
+        long colsLow = 0;
+        long colsHigh = 0;
+        long boxesLow = 0;
+        long boxesHigh = 0;
+        for (int row = 0; row < 9; row++) {
+            int rowMask = 0;
+            for (int col = 0; col < 9; col++) {
+                int num = compact != null ? compact.get(row * 9 + col) : array[row][col];
+                if (num == 0) {
+                    if (complete) {
+                        return false;
+                    }
+                    continue;
+                }
+                if (num < 0 || num > 9) {
+                    return false;
+                }
+
+                int bit = 1 << (num - 1);
+                if ((rowMask & bit) != 0) {
+                    return false;
+                }
+                rowMask |= bit;
+
+                if (col < 7) {
+                    long colBit = 1L << (col * 9 + num - 1);
+                    if ((colsLow & colBit) != 0) {
+                        return false;
+                    }
+                    colsLow |= colBit;
+                } else {
+                    long colBit = 1L << ((col - 7) * 9 + num - 1);
+                    if ((colsHigh & colBit) != 0) {
+                        return false;
+                    }
+                    colsHigh |= colBit;
+                }
+
+                int box = (row / 3) * 3 + col / 3;
+                if (box < 7) {
+                    long boxBit = 1L << (box * 9 + num - 1);
+                    if ((boxesLow & boxBit) != 0) {
+                        return false;
+                    }
+                    boxesLow |= boxBit;
+                } else {
+                    long boxBit = 1L << ((box - 7) * 9 + num - 1);
+                    if ((boxesHigh & boxBit) != 0) {
+                        return false;
+                    }
+                    boxesHigh |= boxBit;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package sudoku;
+
+// Strategies for picking the cell the solver branches on next
+public enum CellOrdering {
+    // First empty cell in row-major order
+    ROW_MAJOR {
+        @Override
+        public int selectCell(BoardState state) {
+            for (int cell = 0; cell < BoardState.CELLS; cell++) {
+                if (state.get(cell) == 0) {
+                    return cell;
+                }
+            }
+            return -1;
+        }
+    },
+
+    // Minimum remaining values: the empty cell with the fewest candidates
+    MRV {
+        @Override
+        public int selectCell(BoardState state) {
+            int best = -1;
+            int bestCount = Integer.MAX_VALUE;
+            for (int cell = 0; cell < BoardState.CELLS; cell++) {
+                if (state.get(cell) != 0) {
+                    continue;
+                }
+                int count = Integer.bitCount(state.candidates(cell));
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+                    // Nothing beats a forced or dead cell
+                    if (count <= 1) {
+                        break;
+                    }
+                }
+            }
+            return best;
+        }
+    },
+
+    // Minimum remaining values, ties broken by the most empty peers (degree heuristic)
+    MRV_DEGREE {
+        @Override
+        public int selectCell(BoardState state) {
+            int best = -1;
+            int bestCount = Integer.MAX_VALUE;
+            int bestDegree = -1;
+            for (int cell = 0; cell < BoardState.CELLS; cell++) {
+                if (state.get(cell) != 0) {
+                    continue;
+                }
+                int count = Integer.bitCount(state.candidates(cell));
+                if (count > bestCount) {
+                    continue;
+                }
+                if (count == 0) {
+                    return cell;
+                }
+                int degree = 0;
+                for (int peer : BoardState.PEERS[cell]) {
+                    if (state.get(peer) == 0) {
+                        degree++;
+                    }
+                }
+                if (count < bestCount || degree > bestDegree) {
+                    best = cell;
+                    bestCount = count;
+                    bestDegree = degree;
+                }
+            }
+            return best;
+        }
+    };
+
+    // Index of the cell to branch on, or -1 if the board is full
+    public abstract int selectCell(BoardState state);
+}
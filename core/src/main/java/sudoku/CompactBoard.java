@@ -0,0 +1,120 @@
+package sudoku;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Memory-compact 9x9 board packing two cells per byte (41 bytes for 81 cells),
+// low nibble first, 0 meaning empty. Copies are a single System.arraycopy.
+public final class CompactBoard {
+    public static final int BYTES = (BoardState.CELLS + 1) / 2;
+
+    private final byte[] data;
+
+    // Empty board
+    public CompactBoard() {
+        data = new byte[BYTES];
+    }
+
+    // Board packed from a 9x9 array, 0 meaning empty
+    public CompactBoard(int[][] board) {
+        this();
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                set(row, col, board[row][col]);
+            }
+        }
+    }
+
+    private CompactBoard(byte[] data) {
+        this.data = data;
+    }
+
+    // Board backed by the given BYTES-long array, which is not copied
+    static CompactBoard wrap(byte[] data) {
+        return new CompactBoard(data);
+    }
+
+    // Backing array, for stores copying boards in and out in bulk
+    byte[] bytes() {
+        return data;
+    }
+
+    // Board unpacked from BYTES bytes of src starting at offset
+    public static CompactBoard readFrom(byte[] src, int offset) {
+        byte[] data = new byte[BYTES];
+        System.arraycopy(src, offset, data, 0, BYTES);
+        return new CompactBoard(data);
+    }
+
+    // Write the packed BYTES bytes into dest starting at offset
+    public void writeTo(byte[] dest, int offset) {
+        System.arraycopy(data, 0, dest, offset, BYTES);
+    }
+
+    // Cells and coordinates are checked like array indexes: an index past the
+    // board would otherwise land on a neighbouring cell or the padding nibble
+    public int get(int cell) {
+        Objects.checkIndex(cell, BoardState.CELLS);
+        return (data[cell >> 1] >> ((cell & 1) << 2)) & 0xF;
+    }
+
+    public int get(int row, int col) {
+        return get(Objects.checkIndex(row, 9) * 9 + Objects.checkIndex(col, 9));
+    }
+
+    public void set(int cell, int num) {
+        Objects.checkIndex(cell, BoardState.CELLS);
+        if (num < 0 || num > 9) {
+            throw new IllegalArgumentException("Number must be between 0 and 9, got " + num);
+        }
+        int shift = (cell & 1) << 2;
+        data[cell >> 1] = (byte) ((data[cell >> 1] & ~(0xF << shift)) | (num << shift));
+    }
+
+    public void set(int row, int col, int num) {
+        set(Objects.checkIndex(row, 9) * 9 + Objects.checkIndex(col, 9), num);
+    }
+
+    // Number of non-empty cells
+    public int countFilled() {
+        int filled = 0;
+        for (int cell = 0; cell < BoardState.CELLS; cell++) {
+            if (get(cell) != 0) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    public CompactBoard copy() {
+        return new CompactBoard(data.clone());
+    }
+
+    public void copyFrom(CompactBoard other) {
+        System.arraycopy(other.data, 0, data, 0, BYTES);
+    }
+
+    // Unpack into a new 9x9 array
+    public int[][] toArray() {
+        int[][] board = new int[9][9];
+        copyTo(board);
+        return board;
+    }
+
+    // Unpack into an existing 9x9 array
+    public void copyTo(int[][] board) {
+        for (int cell = 0; cell < BoardState.CELLS; cell++) {
+            board[cell / 9][cell % 9] = get(cell);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompactBoard && Arrays.equals(data, ((CompactBoard) o).data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+}
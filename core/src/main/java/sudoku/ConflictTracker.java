@@ -0,0 +1,83 @@
+package sudoku;
+
+// Per-unit digit counters kept up to date as cells are set and cleared, so
+// conflicts and completion can be answered in constant time after each move
+// instead of revalidating the whole board.
+public class ConflictTracker {
+    private static final int UNITS = 27;
+
+    // How many times each number appears in each unit: rows 0-8, columns 9-17, boxes 18-26
+    private final byte[] counts = new byte[UNITS * 9];
+    private final byte[] numbers = new byte[BoardState.CELLS];
+    // Unit/number pairs appearing more than once
+    private int conflicts;
+    private int filledCells;
+
+    // Tracker for the current contents of the board
+    public ConflictTracker(CompactBoard board) {
+        for (int cell = 0; cell < BoardState.CELLS; cell++) {
+            set(cell, board.get(cell));
+        }
+    }
+
+    // Record that the cell now holds num, 0 clearing it
+    public void set(int cell, int num) {
+        int old = numbers[cell];
+        if (old == num) {
+            return;
+        }
+        if (old != 0) {
+            update(cell, old, -1);
+            filledCells--;
+        }
+        numbers[cell] = (byte) num;
+        if (num != 0) {
+            update(cell, num, 1);
+            filledCells++;
+        }
+    }
+
+    // Whether any row, column or box holds a number twice
+    public boolean hasConflict() {
+        return conflicts > 0;
+    }
+
+    // Whether the cell's number also appears elsewhere in its row, column or box
+    public boolean isConflicting(int cell) {
+        int num = numbers[cell];
+        if (num == 0) {
+            return false;
+        }
+        return counts[BoardState.ROW_OF[cell] * 9 + num - 1] > 1
+                || counts[(9 + BoardState.COL_OF[cell]) * 9 + num - 1] > 1
+                || counts[(18 + BoardState.BOX_OF[cell]) * 9 + num - 1] > 1;
+    }
+
+    // Every cell filled and no conflicts
+    public boolean isComplete() {
+        return filledCells == BoardState.CELLS && conflicts == 0;
+    }
+
+    public int getFilledCells() {
+        return filledCells;
+    }
+
+    private void update(int cell, int num, int delta) {
+        updateUnit(BoardState.ROW_OF[cell], num, delta);
+        updateUnit(9 + BoardState.COL_OF[cell], num, delta);
+        updateUnit(18 + BoardState.BOX_OF[cell], num, delta);
+    }
+
+    // Conflicts change when a count crosses between 1 and 2
+    private void updateUnit(int unit, int num, int delta) {
+        int index = unit * 9 + num - 1;
+        int before = counts[index];
+        int after = before + delta;
+        counts[index] = (byte) after;
+        if (before <= 1 && after > 1) {
+            conflicts++;
+        } else if (before > 1 && after <= 1) {
+            conflicts--;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package sudoku;
+
+// Logical deductions applied to a BoardState until nothing changes: naked
+// singles, hidden singles and locked candidates (pointing and claiming).
+public class ConstraintPropagator {
+    private static final int SIZE = BoardState.SIZE;
+
+    // Cells of the 27 units: rows 0-8, columns 9-17, boxes 18-26
+    static final int[][] UNITS = new int[SIZE * 3][SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                UNITS[i][j] = i * SIZE + j;
+                UNITS[SIZE + i][j] = j * SIZE + i;
+                UNITS[SIZE * 2 + i][j] = ((i / 3) * 3 + j / 3) * SIZE + (i % 3) * 3 + j % 3;
+            }
+        }
+    }
+
+    private int placedCells;
+
+    // Apply the deductions to fixpoint, returns false if the board turned out to be contradictory
+    public boolean propagate(BoardState state) {
+        while (true) {
+            int progress = applySingles(state);
+            if (progress < 0) {
+                return false;
+            }
+            if (progress > 0) {
+                continue;
+            }
+            // Only look for locked candidates once the cheaper singles are exhausted
+            if (!applyLockedCandidates(state)) {
+                return true;
+            }
+        }
+    }
+
+    // Number of cells placed by propagation since the last reset
+    public int getPlacedCells() {
+        return placedCells;
+    }
+
+    public void resetPlacedCells() {
+        placedCells = 0;
+    }
+
+    // Place naked and hidden singles, returns the number placed or -1 on a contradiction
+    private int applySingles(BoardState state) {
+        int placed = 0;
+
+        // Naked singles: cells with a single candidate left
+        for (int cell = 0; cell < BoardState.CELLS; cell++) {
+            if (state.get(cell) != 0) {
+                continue;
+            }
+            int candidates = state.candidates(cell);
+            if (candidates == 0) {
+                return -1;
+            }
+            if ((candidates & (candidates - 1)) == 0) {
+                state.place(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+                placed++;
+            }
+        }
+
+        // Hidden singles: numbers with a single possible cell left in a unit
+        for (int[] unit : UNITS) {
+            int once = 0;
+            int twice = 0;
+            int used = 0;
+            for (int cell : unit) {
+                if (state.get(cell) != 0) {
+                    used |= 1 << (state.get(cell) - 1);
+                } else {
+                    int candidates = state.candidates(cell);
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+            }
+            if ((once | used) != BoardState.ALL_DIGITS) {
+                return -1;
+            }
+            int hidden = once & ~twice;
+            while (hidden != 0) {
+                int bit = hidden & -hidden;
+                hidden ^= bit;
+                for (int cell : unit) {
+                    // A placement earlier in this pass may have taken the number away;
+                    // that contradiction is caught on the next pass
+                    if (state.get(cell) == 0 && (state.candidates(cell) & bit) != 0) {
+                        state.place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        placed++;
+                        break;
+                    }
+                }
+            }
+        }
+
+        placedCells += placed;
+        return placed;
+    }
+
+    // Eliminate candidates confined to a box/line intersection, returns true if anything was removed
+    static boolean applyLockedCandidates(BoardState state) {
+        boolean changed = false;
+        for (int box = 0; box < SIZE; box++) {
+            int[] boxCells = UNITS[SIZE * 2 + box];
+            for (int line = 0; line < 3; line++) {
+                // Row and column segments of the box, and the same segments' lines
+                int row = (box / 3) * 3 + line;
+                int col = (box % 3) * 3 + line;
+                int rowSegment = 0;
+                int colSegment = 0;
+                int restOfBoxRows = 0;
+                int restOfBoxCols = 0;
+                for (int cell : boxCells) {
+                    if (state.get(cell) != 0) {
+                        continue;
+                    }
+                    int candidates = state.candidates(cell);
+                    if (BoardState.ROW_OF[cell] == row) {
+                        rowSegment |= candidates;
+                    } else {
+                        restOfBoxRows |= candidates;
+                    }
+                    if (BoardState.COL_OF[cell] == col) {
+                        colSegment |= candidates;
+                    } else {
+                        restOfBoxCols |= candidates;
+                    }
+                }
+                int restOfRow = 0;
+                int restOfCol = 0;
+                for (int i = 0; i < SIZE; i++) {
+                    int rowCell = row * SIZE + i;
+                    if (BoardState.BOX_OF[rowCell] != box && state.get(rowCell) == 0) {
+                        restOfRow |= state.candidates(rowCell);
+                    }
+                    int colCell = i * SIZE + col;
+                    if (BoardState.BOX_OF[colCell] != box && state.get(colCell) == 0) {
+                        restOfCol |= state.candidates(colCell);
+                    }
+                }
+
+                // Pointing: numbers of the box only in this segment leave the rest of the line
+                changed |= excludeFromLine(state, UNITS[row], box, rowSegment & ~restOfBoxRows);
+                changed |= excludeFromLine(state, UNITS[SIZE + col], box, colSegment & ~restOfBoxCols);
+                // Claiming: numbers of the line only in this segment leave the rest of the box
+                changed |= excludeFromBox(state, boxCells, row, -1, rowSegment & ~restOfRow);
+                changed |= excludeFromBox(state, boxCells, -1, col, colSegment & ~restOfCol);
+            }
+        }
+        return changed;
+    }
+
+    private static boolean excludeFromLine(BoardState state, int[] line, int box, int mask) {
+        boolean changed = false;
+        if (mask != 0) {
+            for (int cell : line) {
+                if (BoardState.BOX_OF[cell] != box && state.get(cell) == 0) {
+                    changed |= state.exclude(cell, mask);
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean excludeFromBox(BoardState state, int[] boxCells, int row, int col, int mask) {
+        boolean changed = false;
+        if (mask != 0) {
+            for (int cell : boxCells) {
+                if (BoardState.ROW_OF[cell] != row && BoardState.COL_OF[cell] != col && state.get(cell) == 0) {
+                    changed |= state.exclude(cell, mask);
+                }
+            }
+        }
+        return changed;
+    }
+}
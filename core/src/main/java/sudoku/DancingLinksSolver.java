@@ -0,0 +1,243 @@
+package sudoku;
+
+import java.util.function.Consumer;
+
+// Dancing Links (Knuth's Algorithm X) solver. Sudoku is encoded as an exact
+// cover problem with 729 rows (a number in a cell) and 324 columns (each cell
+// filled, each number once per row, per column and per box). The links are
+// kept in flat int arrays and built once, every call restores them on exit.
+public class DancingLinksSolver implements SudokuSolver {
+    private static final int SIZE = BoardState.SIZE;
+    private static final int CELLS = BoardState.CELLS;
+    private static final int CHOICES = CELLS * SIZE;
+    private static final int COLUMNS = CELLS * 4;
+    private static final int ROOT = 0;
+
+    // Node links; nodes 1..COLUMNS are the column headers
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] choiceOf;
+    private final int[] columnSize = new int[COLUMNS + 1];
+    private final int[] firstNodeOf = new int[CHOICES];
+
+    private final BoardState givens = new BoardState();
+    private final int[] givenChoices = new int[CELLS];
+    private final int[] selected = new int[CELLS];
+    private int[][] solution;
+    private Consumer<int[][]> consumer;
+    private int limit;
+    private int found;
+    // Statistics of the current call, null when not requested
+    private SolverStats stats;
+
+    public DancingLinksSolver() {
+        int nodes = COLUMNS + 1 + CHOICES * 4;
+        left = new int[nodes];
+        right = new int[nodes];
+        up = new int[nodes];
+        down = new int[nodes];
+        column = new int[nodes];
+        choiceOf = new int[nodes];
+
+        // Circular list of column headers around the root
+        for (int c = 0; c <= COLUMNS; c++) {
+            left[c] = c == 0 ? COLUMNS : c - 1;
+            right[c] = c == COLUMNS ? 0 : c + 1;
+            up[c] = c;
+            down[c] = c;
+            column[c] = c;
+        }
+
+        int node = COLUMNS + 1;
+        for (int choice = 0; choice < CHOICES; choice++) {
+            int cell = choice / SIZE;
+            int digit = choice % SIZE;
+            int[] columns = {
+                    1 + cell,
+                    1 + CELLS + BoardState.ROW_OF[cell] * SIZE + digit,
+                    1 + CELLS * 2 + BoardState.COL_OF[cell] * SIZE + digit,
+                    1 + CELLS * 3 + BoardState.BOX_OF[cell] * SIZE + digit
+            };
+            firstNodeOf[choice] = node;
+            for (int i = 0; i < 4; i++) {
+                int c = columns[i];
+                int n = node + i;
+                column[n] = c;
+                choiceOf[n] = choice;
+                // Append at the bottom of the column
+                up[n] = up[c];
+                down[n] = c;
+                down[up[c]] = n;
+                up[c] = n;
+                columnSize[c]++;
+                // Link the four nodes of the row horizontally
+                left[n] = node + (i + 3) % 4;
+                right[n] = node + (i + 1) % 4;
+            }
+            node += 4;
+        }
+    }
+
+    @Override
+    public boolean solve(int[][] board) {
+        int[][][] holder = new int[1][][];
+        if (enumerateSolutions(board, 1, s -> holder[0] = s) == 0) {
+            return false;
+        }
+        for (int row = 0; row < SIZE; row++) {
+            System.arraycopy(holder[0][row], 0, board[row], 0, SIZE);
+        }
+        return true;
+    }
+
+    @Override
+    public int enumerateSolutions(int[][] board, int limit, Consumer<int[][]> consumer) {
+        if (limit <= 0 || !givens.load(board)) {
+            return 0;
+        }
+        this.consumer = consumer;
+        this.limit = limit;
+        this.solution = board;
+        found = 0;
+
+        // Remove the rows and columns already decided by the givens
+        int givenCount = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (givens.get(cell) != 0) {
+                givenChoices[givenCount] = cell * SIZE + givens.get(cell) - 1;
+                selectChoice(firstNodeOf[givenChoices[givenCount++]]);
+            }
+        }
+
+        search(0);
+
+        // Put the givens back so the matrix is complete for the next call
+        for (int i = givenCount - 1; i >= 0; i--) {
+            deselectChoice(firstNodeOf[givenChoices[i]]);
+        }
+        this.consumer = null;
+        this.solution = null;
+        return found;
+    }
+
+    @Override
+    public boolean solve(int[][] board, SolverStats stats) {
+        this.stats = stats;
+        try {
+            return SudokuSolver.super.solve(board, stats);
+        } finally {
+            this.stats = null;
+        }
+    }
+
+    @Override
+    public int enumerateSolutions(int[][] board, int limit, Consumer<int[][]> consumer, SolverStats stats) {
+        this.stats = stats;
+        try {
+            return SudokuSolver.super.enumerateSolutions(board, limit, consumer, stats);
+        } finally {
+            this.stats = null;
+        }
+    }
+
+    // Algorithm X, always branching on the column with the fewest rows left
+    private void search(int depth) {
+        if (stats != null) {
+            stats.enterNode(depth);
+        }
+        if (right[ROOT] == ROOT) {
+            found++;
+            if (consumer != null) {
+                consumer.accept(buildSolution(depth));
+            }
+            return;
+        }
+
+        int best = right[ROOT];
+        for (int c = right[best]; c != ROOT; c = right[c]) {
+            if (columnSize[c] < columnSize[best]) {
+                best = c;
+            }
+        }
+        if (columnSize[best] == 0) {
+            if (stats != null) {
+                stats.backtracks++;
+            }
+            return;
+        }
+
+        cover(best);
+        for (int r = down[best]; r != best && found < limit; r = down[r]) {
+            selected[depth] = choiceOf[r];
+            if (stats != null && down[r] != best) {
+                stats.guesses++;
+            }
+            for (int j = right[r]; j != r; j = right[j]) {
+                cover(column[j]);
+            }
+            search(depth + 1);
+            for (int j = left[r]; j != r; j = left[j]) {
+                uncover(column[j]);
+            }
+        }
+        uncover(best);
+    }
+
+    // Copy of the board with the choices of the current search path filled in
+    private int[][] buildSolution(int depth) {
+        int[][] result = new int[SIZE][SIZE];
+        for (int row = 0; row < SIZE; row++) {
+            System.arraycopy(solution[row], 0, result[row], 0, SIZE);
+        }
+        for (int i = 0; i < depth; i++) {
+            int cell = selected[i] / SIZE;
+            result[BoardState.ROW_OF[cell]][BoardState.COL_OF[cell]] = selected[i] % SIZE + 1;
+        }
+        return result;
+    }
+
+    // Cover every column of the row starting at node
+    private void selectChoice(int node) {
+        int n = node;
+        do {
+            cover(column[n]);
+            n = right[n];
+        } while (n != node);
+    }
+
+    // Undo selectChoice in reverse order
+    private void deselectChoice(int node) {
+        int n = left[node];
+        do {
+            uncover(column[n]);
+            n = left[n];
+        } while (n != left[node]);
+    }
+
+    private void cover(int c) {
+        right[left[c]] = right[c];
+        left[right[c]] = left[c];
+        for (int i = down[c]; i != c; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                columnSize[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int c) {
+        for (int i = up[c]; i != c; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+        right[left[c]] = c;
+        left[right[c]] = c;
+    }
+}
@@ -0,0 +1,553 @@
+package sudoku;
+
+import java.util.Arrays;
+
+// Grades puzzles by solving them the way a person would: the simplest technique
+// that makes progress is applied, then the search starts over from the simplest
+// one. The rating is that of the hardest technique needed, as in the common
+// Sudoku Explainer scale (times ten), and GUESSING when the techniques below run
+// out. Everything works on BoardState candidate masks with preallocated scratch
+// arrays, so a grade costs the same order of time as a uniqueness check.
+public class DifficultyGrader {
+    private static final int SIZE = BoardState.SIZE;
+    private static final int CELLS = BoardState.CELLS;
+    private static final int[][] UNITS = ConstraintPropagator.UNITS;
+
+    // Techniques in the order they are tried
+    public enum Technique {
+        HIDDEN_SINGLE(15),
+        NAKED_SINGLE(23),
+        LOCKED_CANDIDATES(26),
+        NAKED_PAIR(30),
+        X_WING(32),
+        HIDDEN_PAIR(34),
+        NAKED_TRIPLE(36),
+        SWORDFISH(38),
+        HIDDEN_TRIPLE(40),
+        XY_WING(42),
+        SIMPLE_COLORING(45),
+        // Not a technique: the puzzle cannot be finished without trial and error
+        GUESSING(100);
+
+        private final int rating;
+
+        Technique(int rating) {
+            this.rating = rating;
+        }
+
+        public int getRating() {
+            return rating;
+        }
+    }
+
+    private static final Technique[] TECHNIQUES = Technique.values();
+
+    // Result of grading one puzzle
+    public static final class Grade {
+        private final int[] uses = new int[TECHNIQUES.length];
+        private Technique hardest;
+        private int score;
+        private boolean contradictory;
+
+        // Hardest technique needed, GUESSING if the logic got stuck, null if nothing was empty
+        public Technique getHardest() {
+            return hardest;
+        }
+
+        // Rating of the hardest technique, 0 for a full board
+        public int getRating() {
+            return hardest == null ? 0 : hardest.getRating();
+        }
+
+        // Sum of the ratings of every deduction made, a finer measure of the total work
+        public int getScore() {
+            return score;
+        }
+
+        // Deductions made with the technique: cells placed for singles, eliminating steps otherwise
+        public int getUses(Technique technique) {
+            return uses[technique.ordinal()];
+        }
+
+        // Whether the techniques alone solved the puzzle
+        public boolean isSolved() {
+            return hardest != Technique.GUESSING && !contradictory;
+        }
+
+        // Whether the deductions ran into a contradiction, so the puzzle has no solution
+        public boolean isContradictory() {
+            return contradictory;
+        }
+
+        private void record(Technique technique, int deductions) {
+            uses[technique.ordinal()] += deductions;
+            score += technique.getRating() * deductions;
+            if (hardest == null || technique.compareTo(hardest) > 0) {
+                hardest = technique;
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("rating=").append(getRating()).append(" score=").append(score);
+            if (contradictory) {
+                text.append(" contradictory");
+            }
+            for (Technique technique : TECHNIQUES) {
+                if (uses[technique.ordinal()] > 0) {
+                    text.append(' ').append(technique).append('=').append(uses[technique.ordinal()]);
+                }
+            }
+            return text.toString();
+        }
+    }
+
+    private final BoardState state = new BoardState();
+    // Scratch for subsets and fish: cells or lines taking part, and their masks
+    private final int[] members = new int[SIZE];
+    private final int[] masks = new int[SIZE];
+    // Scratch for simple coloring: conjugate links, component colors and BFS queue
+    private final int[] links = new int[CELLS * 3];
+    private final int[] linkCounts = new int[CELLS];
+    private final int[] colors = new int[CELLS];
+    private final int[] queue = new int[CELLS];
+
+    // Grade the givens, 0 meaning empty
+    public Grade grade(int[][] givens) {
+        if (!state.load(givens)) {
+            throw new IllegalArgumentException("Givens repeat a number in a row, column or box");
+        }
+        return grade();
+    }
+
+    public Grade grade(CompactBoard givens) {
+        return grade(givens.toArray());
+    }
+
+    // Same as grade, but techniques rated above maxRating are not tried, so a puzzle
+    // needing one of them comes out as GUESSING. Cheaper when only a band matters
+    public Grade gradeUpTo(int[][] givens, int maxRating) {
+        if (!state.load(givens)) {
+            throw new IllegalArgumentException("Givens repeat a number in a row, column or box");
+        }
+        return grade(maxRating);
+    }
+
+    private Grade grade() {
+        return grade(Technique.GUESSING.getRating());
+    }
+
+    private Grade grade(int maxRating) {
+        Grade grade = new Grade();
+        while (!state.isFull()) {
+            Technique used = null;
+            int deductions = 0;
+            for (Technique technique : TECHNIQUES) {
+                if (technique == Technique.GUESSING || technique.getRating() > maxRating) {
+                    break;
+                }
+                deductions = apply(technique);
+                if (deductions != 0) {
+                    used = technique;
+                    break;
+                }
+            }
+            if (deductions < 0) {
+                grade.contradictory = true;
+                break;
+            }
+            if (used == null) {
+                grade.record(Technique.GUESSING, 1);
+                break;
+            }
+            grade.record(used, deductions);
+        }
+        return grade;
+    }
+
+    // Apply the technique everywhere it fits, returns the deductions made or -1 on a contradiction
+    private int apply(Technique technique) {
+        switch (technique) {
+            case HIDDEN_SINGLE:
+                return applyHiddenSingles();
+            case NAKED_SINGLE:
+                return applyNakedSingles();
+            case LOCKED_CANDIDATES:
+                return ConstraintPropagator.applyLockedCandidates(state) ? 1 : 0;
+            case NAKED_PAIR:
+                return applyNakedSubsets(2);
+            case NAKED_TRIPLE:
+                return applyNakedSubsets(3);
+            case HIDDEN_PAIR:
+                return applyHiddenSubsets(2);
+            case HIDDEN_TRIPLE:
+                return applyHiddenSubsets(3);
+            case X_WING:
+                return applyFish(2);
+            case SWORDFISH:
+                return applyFish(3);
+            case XY_WING:
+                return applyXyWings();
+            case SIMPLE_COLORING:
+                return applySimpleColoring();
+            default:
+                return 0;
+        }
+    }
+
+    private int applyHiddenSingles() {
+        int placed = 0;
+        for (int[] unit : UNITS) {
+            int once = 0;
+            int twice = 0;
+            int used = 0;
+            for (int cell : unit) {
+                if (state.get(cell) != 0) {
+                    used |= 1 << (state.get(cell) - 1);
+                } else {
+                    int candidates = state.candidates(cell);
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+            }
+            if ((once | used) != BoardState.ALL_DIGITS) {
+                return -1;
+            }
+            int hidden = once & ~twice;
+            while (hidden != 0) {
+                int bit = hidden & -hidden;
+                hidden ^= bit;
+                for (int cell : unit) {
+                    if (state.get(cell) == 0 && (state.candidates(cell) & bit) != 0) {
+                        state.place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        placed++;
+                        break;
+                    }
+                }
+            }
+        }
+        return placed;
+    }
+
+    private int applyNakedSingles() {
+        int placed = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (state.get(cell) != 0) {
+                continue;
+            }
+            int candidates = state.candidates(cell);
+            if (candidates == 0) {
+                return -1;
+            }
+            if ((candidates & (candidates - 1)) == 0) {
+                state.place(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+                placed++;
+            }
+        }
+        return placed;
+    }
+
+    // Naked subsets: size cells of a unit holding only size numbers between them,
+    // which can then be removed from the unit's other cells
+    private int applyNakedSubsets(int size) {
+        int found = 0;
+        for (int[] unit : UNITS) {
+            int count = 0;
+            for (int cell : unit) {
+                if (state.get(cell) == 0) {
+                    int candidates = state.candidates(cell);
+                    if (Integer.bitCount(candidates) <= size) {
+                        members[count] = cell;
+                        masks[count++] = candidates;
+                    }
+                }
+            }
+            for (int a = 0; a < count; a++) {
+                for (int b = a + 1; b < count; b++) {
+                    if (size == 2) {
+                        found += eliminateNaked(unit, masks[a] | masks[b], size, a, b, -1);
+                        continue;
+                    }
+                    for (int c = b + 1; c < count; c++) {
+                        found += eliminateNaked(unit, masks[a] | masks[b] | masks[c], size, a, b, c);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int eliminateNaked(int[] unit, int digits, int size, int a, int b, int c) {
+        if (Integer.bitCount(digits) != size) {
+            return 0;
+        }
+        boolean changed = false;
+        for (int cell : unit) {
+            if (state.get(cell) == 0 && cell != members[a] && cell != members[b] && (c < 0 || cell != members[c])) {
+                changed |= state.exclude(cell, digits);
+            }
+        }
+        return changed ? 1 : 0;
+    }
+
+    // Hidden subsets: size numbers confined to the same size cells of a unit,
+    // which can then hold no other number
+    private int applyHiddenSubsets(int size) {
+        int found = 0;
+        for (int[] unit : UNITS) {
+            // Positions of each number in the unit, as a mask of unit indices
+            int count = 0;
+            for (int num = 0; num < SIZE; num++) {
+                int positions = 0;
+                for (int i = 0; i < SIZE; i++) {
+                    int cell = unit[i];
+                    if (state.get(cell) == 0 && (state.candidates(cell) & (1 << num)) != 0) {
+                        positions |= 1 << i;
+                    }
+                }
+                if (positions != 0 && Integer.bitCount(positions) <= size) {
+                    members[count] = 1 << num;
+                    masks[count++] = positions;
+                }
+            }
+            for (int a = 0; a < count; a++) {
+                for (int b = a + 1; b < count; b++) {
+                    if (size == 2) {
+                        found += eliminateHidden(unit, members[a] | members[b], masks[a] | masks[b], size);
+                        continue;
+                    }
+                    for (int c = b + 1; c < count; c++) {
+                        found += eliminateHidden(unit, members[a] | members[b] | members[c],
+                                masks[a] | masks[b] | masks[c], size);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int eliminateHidden(int[] unit, int digits, int positions, int size) {
+        if (Integer.bitCount(positions) != size) {
+            return 0;
+        }
+        boolean changed = false;
+        for (int i = 0; i < SIZE; i++) {
+            if ((positions & (1 << i)) != 0) {
+                changed |= state.exclude(unit[i], ~digits & BoardState.ALL_DIGITS);
+            }
+        }
+        return changed ? 1 : 0;
+    }
+
+    // Fish: a number confined to size columns within size rows (X-wing for two,
+    // swordfish for three) leaves the rest of those columns, and the same with
+    // rows and columns swapped
+    private int applyFish(int size) {
+        int found = 0;
+        for (int num = 0; num < SIZE; num++) {
+            int bit = 1 << num;
+            for (int byRows = 0; byRows < 2; byRows++) {
+                int count = 0;
+                for (int line = 0; line < SIZE; line++) {
+                    int positions = 0;
+                    for (int i = 0; i < SIZE; i++) {
+                        int cell = byRows == 1 ? line * SIZE + i : i * SIZE + line;
+                        if (state.get(cell) == 0 && (state.candidates(cell) & bit) != 0) {
+                            positions |= 1 << i;
+                        }
+                    }
+                    int cells = Integer.bitCount(positions);
+                    if (cells >= 2 && cells <= size) {
+                        members[count] = line;
+                        masks[count++] = positions;
+                    }
+                }
+                for (int a = 0; a < count; a++) {
+                    for (int b = a + 1; b < count; b++) {
+                        if (size == 2) {
+                            found += eliminateFish(bit, byRows == 1, (1 << members[a]) | (1 << members[b]),
+                                    masks[a] | masks[b], size);
+                            continue;
+                        }
+                        for (int c = b + 1; c < count; c++) {
+                            found += eliminateFish(bit, byRows == 1,
+                                    (1 << members[a]) | (1 << members[b]) | (1 << members[c]),
+                                    masks[a] | masks[b] | masks[c], size);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int eliminateFish(int bit, boolean byRows, int baseLines, int coverLines, int size) {
+        if (Integer.bitCount(coverLines) != size) {
+            return 0;
+        }
+        boolean changed = false;
+        for (int cover = 0; cover < SIZE; cover++) {
+            if ((coverLines & (1 << cover)) == 0) {
+                continue;
+            }
+            for (int line = 0; line < SIZE; line++) {
+                if ((baseLines & (1 << line)) != 0) {
+                    continue;
+                }
+                int cell = byRows ? line * SIZE + cover : cover * SIZE + line;
+                if (state.get(cell) == 0) {
+                    changed |= state.exclude(cell, bit);
+                }
+            }
+        }
+        return changed ? 1 : 0;
+    }
+
+    // XY-wing: a pivot with candidates {a, b} seeing pincers {a, c} and {b, c}.
+    // One of the pincers is c, so c leaves every cell seeing both
+    private int applyXyWings() {
+        int found = 0;
+        for (int pivot = 0; pivot < CELLS; pivot++) {
+            int pivotCandidates = state.get(pivot) == 0 ? state.candidates(pivot) : 0;
+            if (Integer.bitCount(pivotCandidates) != 2) {
+                continue;
+            }
+            for (int first : BoardState.PEERS[pivot]) {
+                int firstCandidates = state.get(first) == 0 ? state.candidates(first) : 0;
+                int shared = firstCandidates & pivotCandidates;
+                if (Integer.bitCount(firstCandidates) != 2 || Integer.bitCount(shared) != 1) {
+                    continue;
+                }
+                int c = firstCandidates & ~shared;
+                int secondCandidates = (pivotCandidates & ~shared) | c;
+                for (int second : BoardState.PEERS[pivot]) {
+                    if (second <= first || state.get(second) != 0 || state.candidates(second) != secondCandidates) {
+                        continue;
+                    }
+                    boolean changed = false;
+                    for (int cell : BoardState.PEERS[first]) {
+                        if (cell != second && state.get(cell) == 0 && sees(cell, second)) {
+                            changed |= state.exclude(cell, c);
+                        }
+                    }
+                    if (changed) {
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // Simple coloring: cells linked by conjugate pairs (a unit where the number has
+    // only two places) alternate between true and false. A color appearing twice in
+    // one unit is false everywhere, and a cell seeing both colors cannot hold the number
+    private int applySimpleColoring() {
+        int found = 0;
+        for (int num = 0; num < SIZE; num++) {
+            int bit = 1 << num;
+            Arrays.fill(linkCounts, 0);
+            for (int[] unit : UNITS) {
+                int first = -1;
+                int second = -1;
+                int places = 0;
+                for (int cell : unit) {
+                    if (state.get(cell) == 0 && (state.candidates(cell) & bit) != 0) {
+                        places++;
+                        if (first < 0) {
+                            first = cell;
+                        } else {
+                            second = cell;
+                        }
+                    }
+                }
+                if (places == 2) {
+                    links[first * 3 + linkCounts[first]++] = second;
+                    links[second * 3 + linkCounts[second]++] = first;
+                }
+            }
+
+            // Colors are 2 * component + 1 or 2 * component + 2, 0 for uncolored
+            Arrays.fill(colors, 0);
+            int component = 0;
+            for (int start = 0; start < CELLS; start++) {
+                if (linkCounts[start] == 0 || colors[start] != 0) {
+                    continue;
+                }
+                int base = 2 * component++;
+                int length = colorComponent(start, base);
+                if (eliminateColoring(bit, base, length)) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    // Color the component reachable from start, returns its size; its cells are left in queue
+    private int colorComponent(int start, int base) {
+        colors[start] = base + 1;
+        queue[0] = start;
+        int length = 1;
+        for (int head = 0; head < length; head++) {
+            int cell = queue[head];
+            int opposite = colors[cell] == base + 1 ? base + 2 : base + 1;
+            for (int i = 0; i < linkCounts[cell]; i++) {
+                int next = links[cell * 3 + i];
+                if (colors[next] == 0) {
+                    colors[next] = opposite;
+                    queue[length++] = next;
+                }
+            }
+        }
+        return length;
+    }
+
+    private boolean eliminateColoring(int bit, int base, int length) {
+        // Color wrap: two cells of one color in a unit make that whole color false
+        for (int i = 0; i < length; i++) {
+            for (int j = i + 1; j < length; j++) {
+                int a = queue[i];
+                int b = queue[j];
+                if (colors[a] == colors[b] && sees(a, b)) {
+                    boolean changed = false;
+                    for (int k = 0; k < length; k++) {
+                        if (colors[queue[k]] == colors[a]) {
+                            changed |= state.exclude(queue[k], bit);
+                        }
+                    }
+                    return changed;
+                }
+            }
+        }
+
+        // Color trap: uncolored cells seeing both colors
+        boolean changed = false;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (state.get(cell) != 0 || (state.candidates(cell) & bit) == 0
+                    || colors[cell] == base + 1 || colors[cell] == base + 2) {
+                continue;
+            }
+            boolean seesFirst = false;
+            boolean seesSecond = false;
+            for (int i = 0; i < length; i++) {
+                if (sees(cell, queue[i])) {
+                    if (colors[queue[i]] == base + 1) {
+                        seesFirst = true;
+                    } else {
+                        seesSecond = true;
+                    }
+                }
+            }
+            if (seesFirst && seesSecond) {
+                changed |= state.exclude(cell, bit);
+            }
+        }
+        return changed;
+    }
+
+    private static boolean sees(int a, int b) {
+        return BoardState.ROW_OF[a] == BoardState.ROW_OF[b] || BoardState.COL_OF[a] == BoardState.COL_OF[b]
+                || BoardState.BOX_OF[a] == BoardState.BOX_OF[b];
+    }
+}
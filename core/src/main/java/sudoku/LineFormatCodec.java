@@ -0,0 +1,144 @@
+package sudoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Streaming reader and writer for the common one-line puzzle format: 81
+// characters per line in row-major order, digits for givens and '.' or '0'
+// for blanks. Anything after the 81st cell of a line (such as a rating or a
+// solution column) is ignored, as is leading whitespace; empty lines and lines
+// starting with '#' are skipped.
+// Bytes are decoded straight from an NIO buffer into CompactBoards, with no
+// String built per line.
+public class LineFormatCodec {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private LineFormatCodec() {
+    }
+
+    // Read every puzzle of the file, returns how many were read
+    public static long read(Path path, Consumer<CompactBoard> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, consumer);
+        }
+    }
+
+    // Read every puzzle of the file as a SudokuPuzzle, returns how many were read
+    public static long readPuzzles(Path path, Consumer<SudokuPuzzle> consumer) throws IOException {
+        // Each board handed out by read is fresh, so it can be wrapped without a copy
+        return read(path, board -> consumer.accept(new SudokuPuzzle(board, null)));
+    }
+
+    // Read every puzzle from the channel until end of stream, returns how many were read
+    public static long read(ReadableByteChannel channel, Consumer<CompactBoard> consumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        CompactBoard board = new CompactBoard();
+        long count = 0;
+        long line = 1;
+        int cell = 0;
+        boolean skipping = false;
+
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    if (cell == BoardState.CELLS) {
+                        consumer.accept(board);
+                        board = new CompactBoard();
+                        count++;
+                    } else if (cell != 0) {
+                        throw malformed(line, "has only " + cell + " cells");
+                    }
+                    cell = 0;
+                    skipping = false;
+                    line++;
+                } else if (skipping || b == '\r') {
+                    continue;
+                } else if (cell == BoardState.CELLS) {
+                    // Trailing columns after the puzzle
+                    skipping = true;
+                } else if (b >= '1' && b <= '9') {
+                    board.set(cell++, b - '0');
+                } else if (b == '.' || b == '0') {
+                    board.set(cell++, 0);
+                } else if (cell == 0 && (b == ' ' || b == '\t')) {
+                    // Indentation before the puzzle, or a blank line of whitespace
+                    continue;
+                } else if (cell == 0 && b == '#') {
+                    skipping = true;
+                } else {
+                    throw malformed(line, "has unexpected character '" + (char) b + "' at cell " + cell);
+                }
+            }
+            buffer.clear();
+        }
+
+        // Last line without a trailing newline
+        if (cell == BoardState.CELLS) {
+            consumer.accept(board);
+            count++;
+        } else if (cell != 0) {
+            throw malformed(line, "has only " + cell + " cells");
+        }
+        return count;
+    }
+
+    private static IOException malformed(long line, String problem) {
+        return new IOException("Line " + line + " " + problem);
+    }
+
+    // Open a writer creating or truncating the file
+    public static Writer openWriter(Path path) throws IOException {
+        return new Writer(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    // Buffered writer producing one line per puzzle, blanks written as '.'
+    public static final class Writer implements AutoCloseable {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        public Writer(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        public void write(CompactBoard board) throws IOException {
+            if (buffer.remaining() < BoardState.CELLS + 1) {
+                flush();
+            }
+            for (int cell = 0; cell < BoardState.CELLS; cell++) {
+                int num = board.get(cell);
+                buffer.put(num == 0 ? (byte) '.' : (byte) ('0' + num));
+            }
+            buffer.put((byte) '\n');
+        }
+
+        public void write(SudokuPuzzle puzzle) throws IOException {
+            write(puzzle.board());
+        }
+
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package sudoku;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Fixed-capacity puzzle inventory kept outside the Java heap in a single
+// MemorySegment, so a large inventory adds nothing to GC work. Every record is
+// a puzzle and its solution, each as a 41-byte CompactBoard. SudokuPuzzle
+// instances are only materialized when a record is read.
+// Appends and reads may run concurrently from any thread; close frees the memory.
+public class OffHeapPuzzleStore implements AutoCloseable {
+    public static final int RECORD_BYTES = CompactBoard.BYTES * 2;
+
+    private final Arena arena;
+    private final MemorySegment records;
+    private final long capacity;
+    private final AtomicLong reserved = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+
+    public OffHeapPuzzleStore(long capacity) {
+        this.capacity = capacity;
+        this.arena = Arena.ofShared();
+        this.records = arena.allocate(capacity * RECORD_BYTES, 8);
+    }
+
+    // Append a puzzle and its solution, returns the record index
+    public long add(SudokuPuzzle puzzle) {
+        CompactBoard solution = puzzle.getSolutionBoard();
+        if (solution == null) {
+            throw new IllegalArgumentException("Puzzle has no solution");
+        }
+        return add(puzzle.board(), solution);
+    }
+
+    // Append a packed puzzle and solution, returns the record index
+    public long add(CompactBoard puzzle, CompactBoard solution) {
+        long index = reserved.getAndIncrement();
+        if (index >= capacity) {
+            reserved.decrementAndGet();
+            throw new IllegalStateException("Puzzle store is full (" + capacity + " records)");
+        }
+        long offset = index * RECORD_BYTES;
+        MemorySegment.copy(puzzle.bytes(), 0, records, ValueLayout.JAVA_BYTE, offset, CompactBoard.BYTES);
+        MemorySegment.copy(solution.bytes(), 0, records, ValueLayout.JAVA_BYTE,
+                offset + CompactBoard.BYTES, CompactBoard.BYTES);
+        // Publish in index order so readers never see a record that is still being written
+        while (!published.compareAndSet(index, index + 1)) {
+            Thread.onSpinWait();
+        }
+        return index;
+    }
+
+    // Materialize the puzzle stored at index, with its solution
+    public SudokuPuzzle get(long index) {
+        return new SudokuPuzzle(readBoard(index, 0), readBoard(index, CompactBoard.BYTES));
+    }
+
+    // Copy only the packed puzzle stored at index
+    public CompactBoard getBoard(long index) {
+        return readBoard(index, 0);
+    }
+
+    // Copy only the packed solution stored at index
+    public CompactBoard getSolutionBoard(long index) {
+        return readBoard(index, CompactBoard.BYTES);
+    }
+
+    // Materialize every stored puzzle in index order
+    public void forEach(Consumer<SudokuPuzzle> action) {
+        long count = published.get();
+        for (long index = 0; index < count; index++) {
+            action.accept(get(index));
+        }
+    }
+
+    public long size() {
+        return published.get();
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    // Release the off-heap memory; the store must not be used afterwards
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private CompactBoard readBoard(long index, int offsetInRecord) {
+        long size = published.get();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " out of " + size);
+        }
+        byte[] data = new byte[CompactBoard.BYTES];
+        MemorySegment.copy(records, ValueLayout.JAVA_BYTE, index * RECORD_BYTES + offsetInRecord,
+                data, 0, CompactBoard.BYTES);
+        return CompactBoard.wrap(data);
+    }
+}
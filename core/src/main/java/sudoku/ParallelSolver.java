@@ -0,0 +1,150 @@
+package sudoku;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Fork/join solver for hard puzzles and solution enumeration. The top levels of
+// the search tree are split into one task per candidate, the subtrees below are
+// searched by a sequential BacktrackingSolver per worker thread. A shared token
+// cancels every task once the requested number of solutions has been found.
+public class ParallelSolver implements SudokuSolver {
+    // Default number of branching levels turned into separate tasks
+    public static final int DEFAULT_SPLIT_DEPTH = 4;
+    // Nodes a subtree search expands between two looks at the cancellation token
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+
+    private static final ThreadLocal<BacktrackingSolver> SUBTREE_SOLVERS =
+            ThreadLocal.withInitial(BacktrackingSolver::new);
+
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    public ParallelSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    public ParallelSolver(ForkJoinPool pool, int splitDepth) {
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    @Override
+    public boolean solve(int[][] board) {
+        AtomicReference<int[][]> first = new AtomicReference<>();
+        if (enumerateSolutions(board, 1, first::set) == 0) {
+            return false;
+        }
+        for (int row = 0; row < BoardState.SIZE; row++) {
+            System.arraycopy(first.get()[row], 0, board[row], 0, BoardState.SIZE);
+        }
+        return true;
+    }
+
+    @Override
+    public int enumerateSolutions(int[][] board, int limit, Consumer<int[][]> consumer) {
+        BoardState root = new BoardState();
+        if (limit <= 0 || !root.load(board)) {
+            return 0;
+        }
+        Search search = new Search(limit, consumer);
+        pool.invoke(new SplitTask(search, root, 0));
+        return Math.min(search.found.get(), limit);
+    }
+
+    // Shared state of one enumerateSolutions call
+    private static final class Search {
+        private final int limit;
+        private final Consumer<int[][]> consumer;
+        private final AtomicInteger found = new AtomicInteger();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        private Search(int limit, Consumer<int[][]> consumer) {
+            this.limit = limit;
+            this.consumer = consumer;
+        }
+
+        // Record solutions found by a task and cancel the search once there are enough
+        private void addSolutions(int count) {
+            if (count > 0 && found.addAndGet(count) >= limit) {
+                cancelled.set(true);
+            }
+        }
+
+        // Hand a solution to the caller's consumer, never more than limit of them
+        private void deliver(int[][] solution) {
+            if (delivered.incrementAndGet() <= limit) {
+                synchronized (consumer) {
+                    consumer.accept(solution);
+                }
+            }
+        }
+    }
+
+    // Branches on the most constrained cell while above the split depth,
+    // otherwise searches the whole subtree sequentially
+    private final class SplitTask extends RecursiveAction {
+        private final Search search;
+        private final BoardState state;
+        private final int depth;
+
+        private SplitTask(Search search, BoardState state, int depth) {
+            this.search = search;
+            this.state = state;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.cancelled.get()) {
+                return;
+            }
+            if (depth >= splitDepth) {
+                searchSubtree();
+                return;
+            }
+            if (!new ConstraintPropagator().propagate(state)) {
+                return;
+            }
+
+            int cell = CellOrdering.MRV.selectCell(state);
+            if (cell == -1) {
+                if (search.consumer != null) {
+                    search.deliver(state.toArray());
+                }
+                search.addSolutions(1);
+                return;
+            }
+
+            List<SplitTask> tasks = new ArrayList<>();
+            int candidates = state.candidates(cell);
+            while (candidates != 0) {
+                int bit = candidates & -candidates;
+                candidates ^= bit;
+                BoardState child = new BoardState();
+                child.copyFrom(state);
+                child.place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                tasks.add(new SplitTask(search, child, depth + 1));
+            }
+            invokeAll(tasks);
+        }
+
+        private void searchSubtree() {
+            BacktrackingSolver solver = SUBTREE_SOLVERS.get();
+            solver.start(state.toArray(), search.limit, search.consumer == null ? null : search::deliver);
+            int reported = 0;
+            boolean finished;
+            do {
+                finished = solver.resume(CANCEL_CHECK_INTERVAL);
+                search.addSolutions(solver.getSolutionCount() - reported);
+                reported = solver.getSolutionCount();
+            } while (!finished && !search.cancelled.get());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package sudoku;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Generates many puzzles at once across a worker pool. Every worker thread has
+// its own PuzzleGenerator, so random streams are never shared between threads
+// and solver scratch boards are reused from one puzzle to the next.
+public class PuzzleBatchGenerator {
+    private final ForkJoinPool pool;
+    private final ThreadLocal<PuzzleGenerator> generators =
+            ThreadLocal.withInitial(() -> new PuzzleGenerator(new Random()));
+    // Reseeded before every puzzle, kept apart so the random streams above stay unpredictable
+    private final ThreadLocal<PuzzleGenerator> seededGenerators =
+            ThreadLocal.withInitial(() -> new PuzzleGenerator(0));
+
+    public PuzzleBatchGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public PuzzleBatchGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Generate count puzzles on the worker pool
+    public SudokuPuzzle[] generate(int count, SudokuPuzzle.Difficulty difficulty) {
+        return generate(count, difficulty, false);
+    }
+
+    // Generate count puzzles on the worker pool, optionally with a unique solution each
+    public SudokuPuzzle[] generate(int count, SudokuPuzzle.Difficulty difficulty, boolean uniqueSolution) {
+        // A parallel stream started from inside the pool runs on that pool's workers
+        return pool.submit(() -> stream(count, difficulty, uniqueSolution).toArray(SudokuPuzzle[]::new)).join();
+    }
+
+    // Generate count puzzles on the worker pool, puzzle i being the one that
+    // new SudokuPuzzle(PuzzleGenerator.puzzleSeed(masterSeed, i), ...) regenerates,
+    // whichever worker makes it. The same arguments always give the same array
+    public SudokuPuzzle[] generate(int count, SudokuPuzzle.Difficulty difficulty, boolean uniqueSolution,
+                                   long masterSeed) {
+        return pool.submit(() -> stream(count, difficulty, uniqueSolution, masterSeed)
+                .toArray(SudokuPuzzle[]::new)).join();
+    }
+
+    // Parallel stream generating count puzzles lazily. It runs on the pool of the
+    // thread running the terminal operation, the common pool unless called from a worker
+    public Stream<SudokuPuzzle> stream(int count, SudokuPuzzle.Difficulty difficulty, boolean uniqueSolution) {
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> new SudokuPuzzle(generators.get(), difficulty, uniqueSolution));
+    }
+
+    // Parallel stream of the seeded puzzles of generate(count, difficulty, uniqueSolution, masterSeed)
+    public Stream<SudokuPuzzle> stream(int count, SudokuPuzzle.Difficulty difficulty, boolean uniqueSolution,
+                                       long masterSeed) {
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> new SudokuPuzzle(seededGenerators.get(), PuzzleGenerator.puzzleSeed(masterSeed, i),
+                        difficulty, uniqueSolution));
+    }
+}
@@ -0,0 +1,376 @@
+package sudoku;
+
+import java.util.Arrays;
+
+// Computes a canonical form for boards under the Sudoku symmetries handled by
+// PuzzleTransformer, so isomorphic puzzles can be recognised and deduplicated.
+// The canonical form is the lexicographically smallest board (blanks as 0)
+// among all transforms, with digits relabeled 1, 2, 3... in order of first
+// appearance.
+//
+// The form is built one output row at a time. A candidate is a transposition
+// with the rows placed so far, the digit labels they assigned and a column
+// order that is only as fixed as those rows require: columns that were blank in
+// every placed row stay tied within their stack, and stacks that were blank in
+// every placed row stay tied with each other. Placing a source row sorts each
+// tie by the row's values, which gives the smallest row that candidate can
+// produce, and only the candidates reaching the smallest row of all go on to the
+// next. Digits new to a row are the one thing a sort cannot order, since their
+// labels depend on where they land, so ties between them are split into one
+// candidate per order. Puzzles keep a handful of candidates and take
+// microseconds; a complete grid starts from 1296 orders of its first row and
+// takes milliseconds. The tests check it against a plain search over all column
+// orders.
+// Instances keep scratch buffers and are not thread-safe.
+public class PuzzleCanonicalizer {
+    private static final int[][][] PERMUTATIONS = {
+            {{}},
+            {{0}},
+            {{0, 1}, {1, 0}},
+            {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}}
+    };
+    // Value of a digit that has no label yet, larger than any label
+    private static final int NEW = 10;
+    private static final long SEED_LOW = 0x9E3779B97F4A7C15L;
+    private static final long SEED_HIGH = 0xC2B2AE3D27D4EB4FL;
+
+    // Layout of a candidate in the state arrays. Columns are kept per source
+    // stack, COLUMNS + 3 * s + j being the j-th column of stack s's output block,
+    // and a tie bit at position k means k is tied with k - 1
+    private static final int TRANSPOSE = 0;
+    private static final int USED_ROWS = 1;
+    private static final int LAST_ROW = 2;
+    private static final int STACKS = 3;
+    private static final int COLUMNS = 6;
+    private static final int COLUMN_TIES = 15;
+    private static final int STACK_TIES = 16;
+    private static final int NEXT_LABEL = 17;
+    private static final int LABELS = 18;
+    private static final int WIDTH = 28;
+
+    private final int[][] grids = new int[2][81];
+    private final int[] best = new int[81];
+    private final int[] firstRowKeys = new int[18];
+    private int[] states = new int[64 * WIDTH];
+    private int[] nextStates = new int[64 * WIDTH];
+    private int stateCount;
+    private int nextCount;
+
+    // A candidate refined by one source row, see refine
+    private final int[] values = new int[9];
+    private final int[] columns = new int[9];
+    private final int[] stacks = new int[3];
+    private final int[] stackKeys = new int[3];
+    private final int[] runStart = new int[3];
+    private final int[] runLength = new int[3];
+    private int columnTies;
+    private int stackTies;
+    private int stackRunStart;
+    private int stackRunLength;
+    private final int[] row = new int[9];
+
+    // Canonical form of the 9x9 board, 0 meaning empty
+    public byte[] canonicalize(int[][] board) {
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                grids[0][r * 9 + c] = board[r][c];
+                grids[1][c * 9 + r] = board[r][c];
+            }
+        }
+
+        stateCount = 0;
+        for (int transpose = 0; transpose < 2; transpose++) {
+            int base = stateCount++ * WIDTH;
+            Arrays.fill(states, base, base + WIDTH, 0);
+            states[base + TRANSPOSE] = transpose;
+            states[base + LAST_ROW] = -1;
+            for (int i = 0; i < 3; i++) {
+                states[base + STACKS + i] = i;
+            }
+            for (int col = 0; col < 9; col++) {
+                states[base + COLUMNS + col] = col;
+            }
+            states[base + COLUMN_TIES] = 0b110110110;
+            states[base + STACK_TIES] = 0b110;
+        }
+        // Only the source rows with the smallest clue pattern can become the first row
+        int firstRow = Integer.MAX_VALUE;
+        for (int transpose = 0; transpose < 2; transpose++) {
+            for (int r = 0; r < 9; r++) {
+                firstRowKeys[transpose * 9 + r] = firstRowKey(grids[transpose], r);
+                firstRow = Math.min(firstRow, firstRowKeys[transpose * 9 + r]);
+            }
+        }
+
+        for (int i = 0; i < 9; i++) {
+            // Candidates placing a row equal to the smallest so far go on to the next row,
+            // a smaller row drops the ones kept until then
+            boolean haveRow = false;
+            nextCount = 0;
+            for (int s = 0; s < stateCount; s++) {
+                int base = s * WIDTH;
+                for (int r = 0; r < 9; r++) {
+                    if (!isAllowedRow(base, i, r)
+                            || i == 0 && firstRowKeys[states[base + TRANSPOSE] * 9 + r] != firstRow) {
+                        continue;
+                    }
+                    int cmp = refine(base, r, haveRow ? i : -1);
+                    if (cmp > 0) {
+                        continue;
+                    }
+                    if (cmp < 0) {
+                        System.arraycopy(row, 0, best, i * 9, 9);
+                        haveRow = true;
+                        nextCount = 0;
+                    }
+                    expand(base, r);
+                }
+            }
+            int[] swap = states;
+            states = nextStates;
+            nextStates = swap;
+            stateCount = nextCount;
+        }
+
+        byte[] canonical = new byte[81];
+        for (int cell = 0; cell < 81; cell++) {
+            canonical[cell] = (byte) best[cell];
+        }
+        return canonical;
+    }
+
+    // 64-bit hash of the board's canonical form, equal for isomorphic boards
+    public long canonicalHash(int[][] board) {
+        return hash64(canonicalize(board));
+    }
+
+    // 64-bit hash of a canonical form
+    public static long hash64(byte[] canonical) {
+        return hash(canonical, SEED_LOW);
+    }
+
+    // 128-bit hash of a canonical form as {low, high}
+    public static long[] hash128(byte[] canonical) {
+        return new long[]{hash(canonical, SEED_LOW), hash(canonical, SEED_HIGH)};
+    }
+
+    // Packs 16 cells per word and mixes each word in
+    private static long hash(byte[] canonical, long seed) {
+        long h = seed;
+        long word = 0;
+        for (int cell = 0; cell < 81; cell++) {
+            word = (word << 4) | canonical[cell];
+            if (cell % 16 == 15 || cell == 80) {
+                h = mix(h ^ word) * 0xFF51AFD7ED558CCDL;
+                word = 0;
+            }
+        }
+        return mix(h);
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // The first row only has fresh digits, which take labels 1, 2, 3... whatever the
+    // column order, so its smallest form depends only on where the clues are: stacks
+    // in increasing order of clues, blanks first within each. The key is that form
+    // with a bit per clue, and the smaller key gives the smaller row
+    private static int firstRowKey(int[] grid, int r) {
+        int a = clueCount(grid, r * 9);
+        int b = clueCount(grid, r * 9 + 3);
+        int c = clueCount(grid, r * 9 + 6);
+        int low = Math.min(a, Math.min(b, c));
+        int high = Math.max(a, Math.max(b, c));
+        int middle = a + b + c - low - high;
+        return (((1 << low) - 1) << 6) | (((1 << middle) - 1) << 3) | ((1 << high) - 1);
+    }
+
+    private static int clueCount(int[] grid, int from) {
+        return (grid[from] != 0 ? 1 : 0) + (grid[from + 1] != 0 ? 1 : 0) + (grid[from + 2] != 0 ? 1 : 0);
+    }
+
+    // Compare the refined row with the best board's row i
+    private int compareRow(int i) {
+        for (int q = 0; q < 9; q++) {
+            if (row[q] != best[i * 9 + q]) {
+                return row[q] < best[i * 9 + q] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    // Rows keep their bands together: the first row of an output band may come from
+    // any unused band, the next two from the same band as the row before them
+    private boolean isAllowedRow(int base, int i, int r) {
+        int usedRows = states[base + USED_ROWS];
+        if ((usedRows & (1 << r)) != 0) {
+            return false;
+        }
+        if (i % 3 != 0) {
+            return r / 3 == states[base + LAST_ROW] / 3;
+        }
+        return (usedRows & (0b111 << (r / 3 * 3))) == 0;
+    }
+
+    // Place source row r on the candidate at base: sort the tied columns and stacks
+    // by the row's values and leave the smallest row it can produce in row. Ties
+    // between new digits are left as runs for expand to split. Returns how the row
+    // compares with the best board's row i, or -1 for i = -1. A greater row may be
+    // left unfinished
+    private int refine(int base, int r, int i) {
+        int[] grid = grids[states[base + TRANSPOSE]];
+        int oldColumnTies = states[base + COLUMN_TIES];
+        int oldStackTies = states[base + STACK_TIES];
+        if ((oldColumnTies | oldStackTies) == 0) {
+            // Column order already fixed, only the labels are left to apply
+            System.arraycopy(states, base + COLUMNS, columns, 0, 9);
+            System.arraycopy(states, base + STACKS, stacks, 0, 3);
+            columnTies = 0;
+            stackTies = 0;
+            runLength[0] = runLength[1] = runLength[2] = 0;
+            stackRunLength = 0;
+            int next = states[base + NEXT_LABEL];
+            int cmp = i < 0 ? -1 : 0;
+            for (int q = 0; q < 9; q++) {
+                int digit = grid[r * 9 + columns[stacks[q / 3] * 3 + q % 3]];
+                int label = states[base + LABELS + digit];
+                row[q] = digit == 0 ? 0 : label != 0 ? label : ++next;
+                if (cmp == 0 && row[q] != best[i * 9 + q]) {
+                    if (row[q] > best[i * 9 + q]) {
+                        return 1;
+                    }
+                    cmp = -1;
+                }
+            }
+            return cmp;
+        }
+
+        for (int col = 0; col < 9; col++) {
+            int digit = grid[r * 9 + col];
+            int label = states[base + LABELS + digit];
+            values[col] = digit == 0 ? 0 : label != 0 ? label : NEW;
+        }
+
+        columnTies = 0;
+        for (int s = 0; s < 3; s++) {
+            int b = s * 3;
+            System.arraycopy(states, base + COLUMNS + b, columns, b, 3);
+            for (int j = 1; j < 3; j++) {
+                for (int k = j; k > 0 && (oldColumnTies & (1 << (b + k))) != 0
+                        && values[columns[b + k]] < values[columns[b + k - 1]]; k--) {
+                    int tmp = columns[b + k];
+                    columns[b + k] = columns[b + k - 1];
+                    columns[b + k - 1] = tmp;
+                }
+            }
+            runLength[s] = 0;
+            for (int j = 1; j < 3; j++) {
+                int left = values[columns[b + j - 1]];
+                if ((oldColumnTies & (1 << (b + j))) == 0 || left != values[columns[b + j]]) {
+                    continue;
+                }
+                if (left == 0) {
+                    columnTies |= 1 << (b + j);
+                } else if (runLength[s] == 0) {
+                    runStart[s] = j - 1;
+                    runLength[s] = 2;
+                } else {
+                    runLength[s]++;
+                }
+            }
+            stackKeys[s] = (values[columns[b]] * 11 + values[columns[b + 1]]) * 11 + values[columns[b + 2]];
+        }
+
+        System.arraycopy(states, base + STACKS, stacks, 0, 3);
+        for (int p = 1; p < 3; p++) {
+            for (int k = p; k > 0 && (oldStackTies & (1 << k)) != 0
+                    && stackKeys[stacks[k]] < stackKeys[stacks[k - 1]]; k--) {
+                int tmp = stacks[k];
+                stacks[k] = stacks[k - 1];
+                stacks[k - 1] = tmp;
+            }
+        }
+        stackTies = 0;
+        stackRunLength = 0;
+        for (int p = 1; p < 3; p++) {
+            int left = stackKeys[stacks[p - 1]];
+            if ((oldStackTies & (1 << p)) == 0 || left != stackKeys[stacks[p]]) {
+                continue;
+            }
+            if (left == 0) {
+                stackTies |= 1 << p;
+            } else if (stackRunLength == 0) {
+                stackRunStart = p - 1;
+                stackRunLength = 2;
+            } else {
+                stackRunLength++;
+            }
+        }
+
+        int next = states[base + NEXT_LABEL];
+        for (int q = 0; q < 9; q++) {
+            int value = values[columns[stacks[q / 3] * 3 + q % 3]];
+            row[q] = value == NEW ? ++next : value;
+        }
+        return i < 0 ? -1 : compareRow(i);
+    }
+
+    // Add the refined candidate to the next row's candidates, once for every order
+    // of each run of new digits
+    private void expand(int base, int r) {
+        for (int[] first : PERMUTATIONS[runLength[0]]) {
+            for (int[] second : PERMUTATIONS[runLength[1]]) {
+                for (int[] third : PERMUTATIONS[runLength[2]]) {
+                    for (int[] stackOrder : PERMUTATIONS[stackRunLength]) {
+                        add(base, r, first, second, third, stackOrder);
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(int base, int r, int[] first, int[] second, int[] third, int[] stackOrder) {
+        if ((nextCount + 1) * WIDTH > nextStates.length) {
+            nextStates = Arrays.copyOf(nextStates, nextStates.length * 2);
+        }
+        int[] to = nextStates;
+        int dst = nextCount++ * WIDTH;
+        to[dst + TRANSPOSE] = states[base + TRANSPOSE];
+        to[dst + USED_ROWS] = states[base + USED_ROWS] | (1 << r);
+        to[dst + LAST_ROW] = r;
+
+        System.arraycopy(columns, 0, to, dst + COLUMNS, 9);
+        permuteRun(to, dst + COLUMNS, columns, 0, runStart[0], first);
+        permuteRun(to, dst + COLUMNS, columns, 3, runStart[1], second);
+        permuteRun(to, dst + COLUMNS, columns, 6, runStart[2], third);
+        to[dst + COLUMN_TIES] = columnTies;
+        System.arraycopy(stacks, 0, to, dst + STACKS, 3);
+        permuteRun(to, dst + STACKS, stacks, 0, stackRunStart, stackOrder);
+        to[dst + STACK_TIES] = stackTies;
+
+        System.arraycopy(states, base + LABELS, to, dst + LABELS, 10);
+        int next = states[base + NEXT_LABEL];
+        int[] grid = grids[states[base + TRANSPOSE]];
+        for (int q = 0; q < 9; q++) {
+            int digit = grid[r * 9 + to[dst + COLUMNS + to[dst + STACKS + q / 3] * 3 + q % 3]];
+            if (digit != 0 && to[dst + LABELS + digit] == 0) {
+                to[dst + LABELS + digit] = ++next;
+            }
+        }
+        to[dst + NEXT_LABEL] = next;
+    }
+
+    // Write the run of from starting at offset + start in the given order
+    private static void permuteRun(int[] to, int dst, int[] from, int offset, int start, int[] order) {
+        for (int k = 0; k < order.length; k++) {
+            to[dst + offset + start + k] = from[offset + start + order[k]];
+        }
+    }
+}
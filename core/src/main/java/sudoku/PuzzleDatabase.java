@@ -0,0 +1,148 @@
+package sudoku;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Read-only, memory-mapped view of a puzzle database file written by
+// PuzzleDatabaseWriter. Opening maps the file without reading it, and every
+// accessor reads its record straight out of the mapping, so opening is
+// instant whatever the file size and records can be accessed in any order.
+//
+// File format, little-endian:
+//   header (32 bytes): magic "SUDB", format version (u16), record size (u16),
+//                      record count (u64), reserved
+//   record (92 bytes): difficulty ordinal (u8, 0xFF if unknown), clue count (u8),
+//                      packed givens (41), packed solution (41), canonical hash (u64)
+public class PuzzleDatabase implements AutoCloseable {
+    static final int MAGIC = 0x42445553; // "SUDB" read as a little-endian int
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int COUNT_OFFSET = 8;
+    static final int RECORD_BYTES = 2 + CompactBoard.BYTES * 2 + 8;
+    static final int DIFFICULTY_OFFSET = 0;
+    static final int CLUES_OFFSET = 1;
+    static final int GIVENS_OFFSET = 2;
+    static final int SOLUTION_OFFSET = GIVENS_OFFSET + CompactBoard.BYTES;
+    static final int HASH_OFFSET = SOLUTION_OFFSET + CompactBoard.BYTES;
+    static final int UNKNOWN_DIFFICULTY = 0xFF;
+
+    private static final SudokuPuzzle.Difficulty[] DIFFICULTIES = SudokuPuzzle.Difficulty.values();
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment file;
+    private final long size;
+
+    private PuzzleDatabase(Arena arena, MemorySegment file, long size) {
+        this.arena = arena;
+        this.file = file;
+        this.size = size;
+    }
+
+    // Map the database file for reading
+    public static PuzzleDatabase open(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("Not a puzzle database: " + path);
+            }
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+            long count = checkCount(checkHeader(file, path), length, path);
+            return new PuzzleDatabase(arena, file, count);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    // Validate the header and return the record count it declares
+    static long checkHeader(MemorySegment header, Path path) throws IOException {
+        if (header.get(INT, 0) != MAGIC) {
+            throw new IOException("Not a puzzle database: " + path);
+        }
+        if (header.get(SHORT, 4) != VERSION) {
+            throw new IOException("Unsupported puzzle database version " + header.get(SHORT, 4) + ": " + path);
+        }
+        if (header.get(SHORT, 6) != RECORD_BYTES) {
+            throw new IOException("Unexpected record size " + header.get(SHORT, 6) + ": " + path);
+        }
+        return header.get(LONG, COUNT_OFFSET);
+    }
+
+    // Check that a file of length bytes holds the records the header declares
+    static long checkCount(long count, long length, Path path) throws IOException {
+        if (count < 0) {
+            throw new IOException("Invalid record count " + count + ": " + path);
+        }
+        // Divided rather than multiplied, a corrupt count must not overflow past the check
+        if (count > (length - HEADER_BYTES) / RECORD_BYTES) {
+            throw new IOException("Puzzle database is truncated: " + path);
+        }
+        return count;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Difficulty the puzzle was generated for, or null if unknown
+    public SudokuPuzzle.Difficulty getDifficulty(long index) {
+        int ordinal = Byte.toUnsignedInt(file.get(ValueLayout.JAVA_BYTE, offset(index) + DIFFICULTY_OFFSET));
+        if (ordinal == UNKNOWN_DIFFICULTY) {
+            return null;
+        }
+        if (ordinal >= DIFFICULTIES.length) {
+            throw new IllegalStateException("Invalid difficulty " + ordinal + " in record " + index);
+        }
+        return DIFFICULTIES[ordinal];
+    }
+
+    public int getClueCount(long index) {
+        return Byte.toUnsignedInt(file.get(ValueLayout.JAVA_BYTE, offset(index) + CLUES_OFFSET));
+    }
+
+    public long getCanonicalHash(long index) {
+        return file.get(LONG, offset(index) + HASH_OFFSET);
+    }
+
+    public CompactBoard getBoard(long index) {
+        return readBoard(offset(index) + GIVENS_OFFSET);
+    }
+
+    public CompactBoard getSolutionBoard(long index) {
+        return readBoard(offset(index) + SOLUTION_OFFSET);
+    }
+
+    // Materialize the puzzle stored at index, with its solution and difficulty
+    public SudokuPuzzle get(long index) {
+        return new SudokuPuzzle(getBoard(index), getSolutionBoard(index), getDifficulty(index));
+    }
+
+    // Unmap the file; the database must not be used afterwards
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private long offset(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " out of " + size);
+        }
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+
+    private CompactBoard readBoard(long offset) {
+        byte[] data = new byte[CompactBoard.BYTES];
+        MemorySegment.copy(file, ValueLayout.JAVA_BYTE, offset, data, 0, CompactBoard.BYTES);
+        return CompactBoard.wrap(data);
+    }
+}
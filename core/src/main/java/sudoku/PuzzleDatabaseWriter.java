@@ -0,0 +1,103 @@
+package sudoku;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Sequential, append-only writer for the puzzle database format described in
+// PuzzleDatabase. The record count in the header is only updated by flush and
+// close, so readers never see a half-written record; reopening a file after a
+// crash drops any records appended after the last flush.
+public class PuzzleDatabaseWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(PuzzleDatabase.RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer countField = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    private final PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer();
+    private long count;
+
+    // Open the file for appending, creating it with an empty header if needed
+    public PuzzleDatabaseWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(PuzzleDatabase.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(PuzzleDatabase.MAGIC);
+                header.putShort(PuzzleDatabase.VERSION);
+                header.putShort((short) PuzzleDatabase.RECORD_BYTES);
+                header.putLong(0);
+                header.clear();
+                channel.write(header, 0);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(PuzzleDatabase.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                if (channel.read(header, 0) < PuzzleDatabase.HEADER_BYTES) {
+                    throw new IOException("Not a puzzle database: " + path);
+                }
+                count = PuzzleDatabase.checkCount(
+                        PuzzleDatabase.checkHeader(MemorySegment.ofBuffer(header.flip()), path), channel.size(), path);
+            }
+            // Drop anything past the last flushed record
+            channel.truncate(PuzzleDatabase.HEADER_BYTES + count * PuzzleDatabase.RECORD_BYTES);
+            channel.position(PuzzleDatabase.HEADER_BYTES + count * PuzzleDatabase.RECORD_BYTES);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Append a puzzle with its solution, difficulty and canonical hash, returns its index
+    public long append(SudokuPuzzle puzzle) throws IOException {
+        return append(puzzle, canonicalizer.canonicalHash(puzzle.getPuzzle()));
+    }
+
+    // Append a puzzle whose canonical hash the caller already computed with
+    // PuzzleCanonicalizer.canonicalHash on its givens. Canonicalizing costs more than
+    // writing a record, so producers on several threads can hash with a
+    // canonicalizer each and leave only the write to the writer's thread
+    public long append(SudokuPuzzle puzzle, long canonicalHash) throws IOException {
+        CompactBoard solution = puzzle.getSolutionBoard();
+        if (solution == null) {
+            throw new IllegalArgumentException("Puzzle has no solution");
+        }
+        SudokuPuzzle.Difficulty difficulty = puzzle.getDifficulty();
+
+        record.clear();
+        record.put((byte) (difficulty == null ? PuzzleDatabase.UNKNOWN_DIFFICULTY : difficulty.ordinal()));
+        record.put((byte) puzzle.board().countFilled());
+        record.put(puzzle.board().bytes());
+        record.put(solution.bytes());
+        record.putLong(canonicalHash);
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        return count++;
+    }
+
+    // Records appended so far, including the ones not yet flushed
+    public long size() {
+        return count;
+    }
+
+    // Make the appended records durable and visible to newly opened readers
+    public void flush() throws IOException {
+        channel.force(false);
+        countField.clear();
+        countField.putLong(count);
+        countField.flip();
+        channel.write(countField, PuzzleDatabase.COUNT_OFFSET);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package sudoku;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Generates solved boards and puzzles from a single random stream. The solvers
+// and scratch buffers are kept between calls, so one generator per thread can
+// produce any number of puzzles without rebuilding them.
+public class PuzzleGenerator {
+    // Bumped whenever a change makes a seed produce a different puzzle, so stored
+    // (seed, difficulty, version) IDs can tell whether they still regenerate.
+    // Version 2 seeds a SplittableRandom, which keeps all 64 bits of the seed where
+    // java.util.Random kept 48
+    public static final int VERSION = 2;
+
+    // Spacing of the per-puzzle seeds of a batch, as in SplittableRandom
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private RandomGenerator random;
+    private final BacktrackingSolver filler;
+    private final BacktrackingSolver counter = new BacktrackingSolver();
+    private final DifficultyGrader grader = new DifficultyGrader();
+    private final int[] cellOrder = new int[81];
+    // Node counts for the JFR events, only filled while they are recorded
+    private final SolverStats stats = new SolverStats();
+    private CompactBoard lastSolution;
+    private DifficultyGrader.Grade lastGrade;
+
+    public PuzzleGenerator(RandomGenerator random) {
+        this.random = random;
+        this.filler = new BacktrackingSolver(random);
+    }
+
+    // Generator whose puzzles are fully determined by the seed, see reseed
+    public PuzzleGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    // Switch to a new random stream started from the seed. Nothing else carries over
+    // from one puzzle to the next, so the next puzzle depends only on the seed, the
+    // arguments and VERSION. Returns this generator
+    public PuzzleGenerator reseed(long seed) {
+        random = new SplittableRandom(seed);
+        filler.setRandom(random);
+        return this;
+    }
+
+    // Seed of puzzle index of a batch started from masterSeed. The seeds are spread
+    // through a 64-bit mix so neighbouring indexes get unrelated random streams. The
+    // mix is a bijection, so the indexes of one batch never share a seed
+    public static long puzzleSeed(long masterSeed, long index) {
+        long z = masterSeed + (index + 1) * SEED_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Solved board the last generated puzzle was carved from
+    public CompactBoard getLastSolution() {
+        return lastSolution;
+    }
+
+    // Grade of the last puzzle made by generateRatedPuzzle
+    public DifficultyGrader.Grade getLastGrade() {
+        return lastGrade;
+    }
+
+    // Generate a complete, valid Sudoku board
+    public int[][] generateSolvedBoard() {
+        SudokuEvents.SolvedBoard event = new SudokuEvents.SolvedBoard();
+        event.begin();
+        boolean recording = event.isEnabled();
+
+        int[][] board = new int[9][9];
+        boolean flag;
+        do {
+            event.attempts++;
+            if (recording) {
+                flag = filler.solve(board, stats);
+                event.nodes += stats.getNodes();
+            } else {
+                flag = filler.solve(board);
+            }
+        } while (!flag);
+
+        // Events enabled mid-call would carry partial node counts
+        if (recording && event.shouldCommit()) {
+            event.commit();
+        }
+        return board;
+    }
+
+    // Generate puzzle by removing cells based on difficulty
+    public int[][] generatePuzzle(SudokuPuzzle.Difficulty difficulty) {
+        // Generate a solved board, cells are removed from it in place
+        int[][] puzzleBoard = generateSolvedBoard();
+        lastSolution = new CompactBoard(puzzleBoard);
+
+        SudokuEvents.CellRemoval event = new SudokuEvents.CellRemoval();
+        event.begin();
+
+        // Remove cells based on difficulty
+        int cellsToRemove = 81 - difficulty.getInitialFilledCells();
+
+        while (cellsToRemove > 0) {
+            int row = random.nextInt(9);
+            int col = random.nextInt(9);
+
+            if (puzzleBoard[row][col] != 0) {
+                puzzleBoard[row][col] = 0;
+                cellsToRemove--;
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.difficulty = difficulty.name();
+            event.accepted = true;
+            event.clues = difficulty.getInitialFilledCells();
+            event.commit();
+        }
+        return puzzleBoard;
+    }
+
+    // Generate puzzle by removing cells in random order, keeping a removal only if the
+    // puzzle still has a single solution. If no further cell can be removed before the
+    // difficulty's clue count is reached, the puzzle keeps the extra clues
+    public int[][] generateUniquePuzzle(SudokuPuzzle.Difficulty difficulty) {
+        int[][] puzzleBoard = generateSolvedBoard();
+        lastSolution = new CompactBoard(puzzleBoard);
+
+        shuffleCellOrder();
+
+        SudokuEvents.CellRemoval event = new SudokuEvents.CellRemoval();
+        event.begin();
+        boolean recording = event.isEnabled();
+
+        int cellsToRemove = 81 - difficulty.getInitialFilledCells();
+        for (int i = 0; i < 81 && cellsToRemove > 0; i++) {
+            int row = cellOrder[i] / 9;
+            int col = cellOrder[i] % 9;
+            int num = puzzleBoard[row][col];
+            puzzleBoard[row][col] = 0;
+
+            // Counting stops at 2, which is all it takes to reject the removal
+            int solutions;
+            if (recording) {
+                solutions = counter.enumerateSolutions(puzzleBoard, 2, null, stats);
+                event.checks++;
+                event.nodes += stats.getNodes();
+            } else {
+                solutions = counter.countSolutions(puzzleBoard, 2);
+            }
+            if (solutions == 1) {
+                cellsToRemove--;
+            } else {
+                puzzleBoard[row][col] = num;
+            }
+        }
+
+        if (recording && event.shouldCommit()) {
+            event.difficulty = difficulty.name();
+            event.accepted = true;
+            event.unique = true;
+            event.clues = difficulty.getInitialFilledCells() + cellsToRemove;
+            event.commit();
+        }
+        return puzzleBoard;
+    }
+
+    // Generate a unique-solution puzzle whose DifficultyGrader rating lies between
+    // minRating and maxRating. Cells are removed in random order and a removal is
+    // undone when it pushes the rating past maxRating or breaks uniqueness. A board
+    // that runs out of removable cells below minRating is dropped for a new one, so
+    // bands with rarely needed techniques take more attempts
+    public int[][] generateRatedPuzzle(int minRating, int maxRating) {
+        if (!bandHasTechnique(minRating, maxRating)) {
+            throw new IllegalArgumentException("No technique is rated between " + minRating + " and " + maxRating);
+        }
+        // With guessing allowed the rating cannot overshoot, so grading can wait until the end
+        boolean gradeEachRemoval = maxRating < DifficultyGrader.Technique.GUESSING.getRating();
+
+        while (true) {
+            int[][] puzzleBoard = generateSolvedBoard();
+            lastSolution = new CompactBoard(puzzleBoard);
+            shuffleCellOrder();
+
+            SudokuEvents.CellRemoval event = new SudokuEvents.CellRemoval();
+            event.begin();
+            boolean recording = event.isEnabled();
+
+            int clues = 81;
+            for (int i = 0; i < 81; i++) {
+                int row = cellOrder[i] / 9;
+                int col = cellOrder[i] % 9;
+                int num = puzzleBoard[row][col];
+                puzzleBoard[row][col] = 0;
+
+                // Below GUESSING, a board the techniques solve on their own has a single
+                // solution, so the capped grade alone decides whether the removal stays
+                boolean kept;
+                if (gradeEachRemoval) {
+                    kept = grader.gradeUpTo(puzzleBoard, maxRating).isSolved();
+                } else if (recording) {
+                    kept = counter.enumerateSolutions(puzzleBoard, 2, null, stats) == 1;
+                    event.nodes += stats.getNodes();
+                } else {
+                    kept = counter.countSolutions(puzzleBoard, 2) == 1;
+                }
+                event.checks++;
+                if (kept) {
+                    clues--;
+                } else {
+                    puzzleBoard[row][col] = num;
+                }
+            }
+
+            DifficultyGrader.Grade grade = grader.grade(puzzleBoard);
+            boolean accepted = grade.getRating() >= minRating;
+            if (recording && event.shouldCommit()) {
+                event.unique = true;
+                event.minRating = minRating;
+                event.maxRating = maxRating;
+                event.rating = grade.getRating();
+                event.accepted = accepted;
+                event.clues = clues;
+                event.commit();
+            }
+            if (accepted) {
+                lastGrade = grade;
+                return puzzleBoard;
+            }
+        }
+    }
+
+    private static boolean bandHasTechnique(int minRating, int maxRating) {
+        for (DifficultyGrader.Technique technique : DifficultyGrader.Technique.values()) {
+            if (technique.getRating() >= minRating && technique.getRating() <= maxRating) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Put the cells in a new random order
+    private void shuffleCellOrder() {
+        for (int i = 0; i < 81; i++) {
+            cellOrder[i] = i;
+        }
+        for (int i = 80; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = cellOrder[i];
+            cellOrder[i] = cellOrder[j];
+            cellOrder[j] = tmp;
+        }
+    }
+}
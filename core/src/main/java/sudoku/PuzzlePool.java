@@ -0,0 +1,173 @@
+package sudoku;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded pool of ready puzzles per Difficulty, refilled by background workers.
+// Once a pool drops to the low watermark a refill is scheduled that generates
+// puzzles until the high watermark is reached, so taking a puzzle is a dequeue.
+// If a pool runs dry the puzzle is generated on the caller's thread and counted
+// as a miss. Refills can stretch each generated puzzle into several by adding
+// variants derived from it through Sudoku symmetries.
+public class PuzzlePool implements AutoCloseable {
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final boolean uniqueSolution;
+    private final int variantsPerBase;
+    private final ExecutorService workers;
+    private final ThreadLocal<PuzzleGenerator> generators =
+            ThreadLocal.withInitial(() -> new PuzzleGenerator(new Random()));
+    private final ThreadLocal<PuzzleTransformer> transformers =
+            ThreadLocal.withInitial(() -> new PuzzleTransformer(new Random()));
+    private final Map<SudokuPuzzle.Difficulty, Slot> slots = new EnumMap<>(SudokuPuzzle.Difficulty.class);
+
+    // Queue and metrics of one difficulty
+    private static final class Slot {
+        private final ArrayBlockingQueue<SudokuPuzzle> puzzles;
+        private final AtomicBoolean refillScheduled = new AtomicBoolean();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder refills = new LongAdder();
+        private final AtomicLong lastRefillLagNanos = new AtomicLong();
+        private final AtomicLong maxRefillLagNanos = new AtomicLong();
+
+        private Slot(int capacity) {
+            puzzles = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    public PuzzlePool(int lowWatermark, int highWatermark, int workerThreads, boolean uniqueSolution) {
+        this(lowWatermark, highWatermark, workerThreads, uniqueSolution, 1);
+    }
+
+    // Pool whose refills generate one puzzle and derive variantsPerBase - 1 more from it
+    public PuzzlePool(int lowWatermark, int highWatermark, int workerThreads, boolean uniqueSolution,
+                      int variantsPerBase) {
+        if (lowWatermark < 0 || highWatermark <= lowWatermark) {
+            throw new IllegalArgumentException("Watermarks must satisfy 0 <= low < high");
+        }
+        if (variantsPerBase < 1) {
+            throw new IllegalArgumentException("variantsPerBase must be at least 1");
+        }
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.uniqueSolution = uniqueSolution;
+        this.variantsPerBase = variantsPerBase;
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-pool-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (SudokuPuzzle.Difficulty difficulty : SudokuPuzzle.Difficulty.values()) {
+            slots.put(difficulty, new Slot(highWatermark));
+            scheduleRefill(difficulty);
+        }
+    }
+
+    // Take a ready puzzle, generating one on the calling thread if the pool is empty
+    public SudokuPuzzle take(SudokuPuzzle.Difficulty difficulty) {
+        Slot slot = slots.get(difficulty);
+        SudokuPuzzle puzzle = slot.puzzles.poll();
+        if (slot.puzzles.size() <= lowWatermark) {
+            scheduleRefill(difficulty);
+        }
+        if (puzzle != null) {
+            slot.hits.increment();
+            return puzzle;
+        }
+        slot.misses.increment();
+        return new SudokuPuzzle(generators.get(), difficulty, uniqueSolution);
+    }
+
+    // Puzzles currently ready for the difficulty
+    public int size(SudokuPuzzle.Difficulty difficulty) {
+        return slots.get(difficulty).puzzles.size();
+    }
+
+    public long getHits(SudokuPuzzle.Difficulty difficulty) {
+        return slots.get(difficulty).hits.sum();
+    }
+
+    public long getMisses(SudokuPuzzle.Difficulty difficulty) {
+        return slots.get(difficulty).misses.sum();
+    }
+
+    // Number of completed refills
+    public long getRefills(SudokuPuzzle.Difficulty difficulty) {
+        return slots.get(difficulty).refills.sum();
+    }
+
+    // Time from the low watermark being hit to the pool being back at the high watermark,
+    // for the last completed refill
+    public long getLastRefillLagNanos(SudokuPuzzle.Difficulty difficulty) {
+        return slots.get(difficulty).lastRefillLagNanos.get();
+    }
+
+    public long getMaxRefillLagNanos(SudokuPuzzle.Difficulty difficulty) {
+        return slots.get(difficulty).maxRefillLagNanos.get();
+    }
+
+    // Stop the refill workers, puzzles already in the pool can still be taken
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Start a refill unless one is already running for the difficulty
+    private void scheduleRefill(SudokuPuzzle.Difficulty difficulty) {
+        Slot slot = slots.get(difficulty);
+        if (workers.isShutdown() || !slot.refillScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        long scheduledAt = System.nanoTime();
+        workers.execute(() -> refill(difficulty, slot, scheduledAt));
+    }
+
+    private void refill(SudokuPuzzle.Difficulty difficulty, Slot slot, long scheduledAt) {
+        try {
+            PuzzleGenerator generator = generators.get();
+            PuzzleTransformer transformer = transformers.get();
+            SudokuPuzzle base = null;
+            int derived = 0;
+            while (slot.puzzles.size() < highWatermark && !Thread.currentThread().isInterrupted()) {
+                SudokuPuzzle puzzle;
+                if (base == null || derived == variantsPerBase - 1) {
+                    puzzle = new SudokuPuzzle(generator, difficulty, uniqueSolution);
+                    // Variants are derived from a private copy: once offered, the puzzle
+                    // can be taken and played while this thread is still reading it
+                    base = new SudokuPuzzle(puzzle.getBoard(), puzzle.getSolutionBoard().copy(), difficulty);
+                    derived = 0;
+                } else {
+                    puzzle = transformer.derive(base);
+                    derived++;
+                }
+                if (!slot.puzzles.offer(puzzle)) {
+                    break;
+                }
+            }
+            long lag = System.nanoTime() - scheduledAt;
+            slot.lastRefillLagNanos.set(lag);
+            slot.maxRefillLagNanos.accumulateAndGet(lag, Math::max);
+            slot.refills.increment();
+        } finally {
+            slot.refillScheduled.set(false);
+        }
+        // Puzzles may have been taken below the low watermark while the flag was still set
+        if (slot.puzzles.size() <= lowWatermark) {
+            scheduleRefill(difficulty);
+        }
+    }
+}
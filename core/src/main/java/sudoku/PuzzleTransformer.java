@@ -0,0 +1,97 @@
+package sudoku;
+
+import java.util.Random;
+
+// Derives new puzzles from existing ones through Sudoku symmetries: relabeling
+// the digits, permuting bands and stacks, permuting rows within a band and
+// columns within a stack, and transposing. Each of these maps a valid puzzle
+// to a valid puzzle with the same clue count and the same solving path, so a
+// derived puzzle is as hard as its seed. There are 2 * 6^8 * 9! of them.
+// The current symmetry is held as flat lookup tables, so applying it is one
+// table lookup per cell and drawing a new one allocates nothing.
+public class PuzzleTransformer {
+    private final Random random;
+    // Source cell of every target cell, and the new label of every digit (0 stays 0)
+    private final int[] sourceCell = new int[81];
+    private final int[] digitMap = new int[10];
+    private final int[] rowOrder = new int[9];
+    private final int[] colOrder = new int[9];
+    private final int[] groupOrder = new int[3];
+
+    public PuzzleTransformer(Random random) {
+        this.random = random;
+        randomize();
+    }
+
+    // Draw a new random symmetry
+    public void randomize() {
+        randomLineOrder(rowOrder);
+        randomLineOrder(colOrder);
+        boolean transpose = random.nextBoolean();
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                int sourceRow = rowOrder[row];
+                int sourceCol = colOrder[col];
+                sourceCell[row * 9 + col] = transpose ? sourceCol * 9 + sourceRow : sourceRow * 9 + sourceCol;
+            }
+        }
+
+        digitMap[0] = 0;
+        for (int digit = 1; digit <= 9; digit++) {
+            digitMap[digit] = digit;
+        }
+        for (int i = 9; i > 1; i--) {
+            int j = random.nextInt(i) + 1;
+            int tmp = digitMap[i];
+            digitMap[i] = digitMap[j];
+            digitMap[j] = tmp;
+        }
+    }
+
+    // Write the source board under the current symmetry into target, which must be a different array
+    public void apply(int[][] source, int[][] target) {
+        for (int cell = 0; cell < 81; cell++) {
+            int from = sourceCell[cell];
+            target[cell / 9][cell % 9] = digitMap[source[from / 9][from % 9]];
+        }
+    }
+
+    // New puzzle derived from the seed under a freshly drawn symmetry, along with its solution
+    public SudokuPuzzle derive(SudokuPuzzle seed) {
+        randomize();
+        int[][] board = new int[9][9];
+        apply(seed.getPuzzle(), board);
+        int[][] seedSolution = seed.getSolution();
+        if (seedSolution == null) {
+            return new SudokuPuzzle(new CompactBoard(board), null, seed.getDifficulty());
+        }
+        int[][] solution = new int[9][9];
+        apply(seedSolution, solution);
+        return new SudokuPuzzle(new CompactBoard(board), new CompactBoard(solution), seed.getDifficulty());
+    }
+
+    // Random order of the 9 rows (or columns) that keeps the lines of each band
+    // (or stack) together: the groups are permuted, then the lines within each group
+    private void randomLineOrder(int[] order) {
+        shuffleGroup(groupOrder, 0);
+        for (int group = 0; group < 3; group++) {
+            shuffleGroup(order, group * 3);
+            for (int i = group * 3; i < group * 3 + 3; i++) {
+                order[i] += groupOrder[group] * 3 - group * 3;
+            }
+        }
+    }
+
+    // Fill values[offset..offset+2] with a random permutation of offset..offset+2
+    private void shuffleGroup(int[] values, int offset) {
+        for (int i = 0; i < 3; i++) {
+            values[offset + i] = offset + i;
+        }
+        for (int i = 2; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[offset + i];
+            values[offset + i] = values[offset + j];
+            values[offset + j] = tmp;
+        }
+    }
+}
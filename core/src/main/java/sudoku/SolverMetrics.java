@@ -0,0 +1,180 @@
+package sudoku;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Solver statistics aggregated per difficulty, for dashboards and finding
+// outlier puzzles. Recording is lock-free (LongAdder counters and log2
+// histograms), so it can be called from many solving threads at once.
+// Puzzles without a difficulty are counted under UNRATED.
+public class SolverMetrics {
+    public static final String UNRATED = "UNRATED";
+    // Bucket i of a histogram counts values up to 2^i (above 2^(i-1)), the last one
+    // everything above
+    public static final int BUCKETS = 32;
+
+    private static final SudokuPuzzle.Difficulty[] DIFFICULTIES = SudokuPuzzle.Difficulty.values();
+    private static final SolverMetrics GLOBAL = new SolverMetrics();
+
+    private static class Slot {
+        private final LongAdder solves = new LongAdder();
+        private final LongAdder nodes = new LongAdder();
+        private final LongAdder backtracks = new LongAdder();
+        private final LongAdder guesses = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNodes = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] micros = newHistogram();
+        private final LongAdder[] nodeCounts = newHistogram();
+    }
+
+    // One slot per difficulty, plus a last one for unrated puzzles
+    private final Slot[] slots = new Slot[DIFFICULTIES.length + 1];
+
+    public SolverMetrics() {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    // Metrics shared by the whole process, fed by SudokuPuzzle.isSolvable
+    public static SolverMetrics global() {
+        return GLOBAL;
+    }
+
+    // Add the statistics of one solver call, difficulty may be null
+    public void record(SudokuPuzzle.Difficulty difficulty, SolverStats stats) {
+        Slot slot = slot(difficulty);
+        slot.solves.increment();
+        slot.nodes.add(stats.nodes);
+        slot.backtracks.add(stats.backtracks);
+        slot.guesses.add(stats.guesses);
+        slot.nanos.add(stats.nanos);
+        slot.maxNodes.accumulate(stats.nodes);
+        slot.maxNanos.accumulate(stats.nanos);
+        // Rounded up, so a call lands in the bucket whose bound it does not exceed
+        slot.micros[bucket((stats.nanos + 999) / 1000)].increment();
+        slot.nodeCounts[bucket(stats.nodes)].increment();
+    }
+
+    public long getSolves(SudokuPuzzle.Difficulty difficulty) {
+        return slot(difficulty).solves.sum();
+    }
+
+    public long getNodes(SudokuPuzzle.Difficulty difficulty) {
+        return slot(difficulty).nodes.sum();
+    }
+
+    public long getBacktracks(SudokuPuzzle.Difficulty difficulty) {
+        return slot(difficulty).backtracks.sum();
+    }
+
+    public long getGuesses(SudokuPuzzle.Difficulty difficulty) {
+        return slot(difficulty).guesses.sum();
+    }
+
+    public long getTotalNanos(SudokuPuzzle.Difficulty difficulty) {
+        return slot(difficulty).nanos.sum();
+    }
+
+    // Slowest call recorded
+    public long getMaxNanos(SudokuPuzzle.Difficulty difficulty) {
+        return slot(difficulty).maxNanos.get();
+    }
+
+    // Largest search recorded
+    public long getMaxNodes(SudokuPuzzle.Difficulty difficulty) {
+        return slot(difficulty).maxNodes.get();
+    }
+
+    // Calls per wall time bucket in microseconds, see BUCKETS
+    public long[] getTimeHistogram(SudokuPuzzle.Difficulty difficulty) {
+        return snapshot(slot(difficulty).micros);
+    }
+
+    // Calls per node count bucket, see BUCKETS
+    public long[] getNodeHistogram(SudokuPuzzle.Difficulty difficulty) {
+        return snapshot(slot(difficulty).nodeCounts);
+    }
+
+    // Write every metric in the Prometheus text exposition format, each family's
+    // samples grouped together after its TYPE line as the format requires
+    public void writeTo(Appendable out) throws IOException {
+        writeFamily(out, "sudoku_solver_solves_total", "counter", slot -> slot.solves.sum());
+        writeFamily(out, "sudoku_solver_nodes_total", "counter", slot -> slot.nodes.sum());
+        writeFamily(out, "sudoku_solver_backtracks_total", "counter", slot -> slot.backtracks.sum());
+        writeFamily(out, "sudoku_solver_guesses_total", "counter", slot -> slot.guesses.sum());
+        writeFamily(out, "sudoku_solver_max_nodes", "gauge", slot -> slot.maxNodes.get());
+        writeFamily(out, "sudoku_solver_max_seconds", "gauge", slot -> slot.maxNanos.get() / 1e9);
+
+        out.append("# TYPE sudoku_solver_seconds histogram\n");
+        for (int i = 0; i < slots.length; i++) {
+            writeHistogram(out, "sudoku_solver_seconds", label(i), slots[i].micros, 1e-6, slots[i].nanos.sum() / 1e9);
+        }
+        out.append("# TYPE sudoku_solver_nodes histogram\n");
+        for (int i = 0; i < slots.length; i++) {
+            writeHistogram(out, "sudoku_solver_nodes", label(i), slots[i].nodeCounts, 1, slots[i].nodes.sum());
+        }
+    }
+
+    private void writeFamily(Appendable out, String name, String type, Function<Slot, Object> value)
+            throws IOException {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (int i = 0; i < slots.length; i++) {
+            writeSample(out, name, label(i), value.apply(slots[i]));
+        }
+    }
+
+    // Opening of the label set of slot i, closed by writeSample
+    private static String label(int slot) {
+        return "{difficulty=\"" + (slot < DIFFICULTIES.length ? DIFFICULTIES[slot].name() : UNRATED) + "\"";
+    }
+
+    private Slot slot(SudokuPuzzle.Difficulty difficulty) {
+        return slots[difficulty == null ? DIFFICULTIES.length : difficulty.ordinal()];
+    }
+
+    private static LongAdder[] newHistogram() {
+        LongAdder[] histogram = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = new LongAdder();
+        }
+        return histogram;
+    }
+
+    // Index of the smallest power of two at or above value
+    private static int bucket(long value) {
+        if (value <= 1) {
+            return 0;
+        }
+        return Math.min(64 - Long.numberOfLeadingZeros(value - 1), BUCKETS - 1);
+    }
+
+    private static long[] snapshot(LongAdder[] histogram) {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram[i].sum();
+        }
+        return counts;
+    }
+
+    private static void writeSample(Appendable out, String name, String label, Object value) throws IOException {
+        out.append(name).append(label).append("} ").append(String.valueOf(value)).append('\n');
+    }
+
+    // Prometheus buckets are cumulative, with upper bounds scaled to the exported unit
+    private static void writeHistogram(Appendable out, String name, String label, LongAdder[] histogram,
+                                       double scale, Object sum) throws IOException {
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            cumulative += histogram[i].sum();
+            writeSample(out, name + "_bucket", label + ",le=\"" + (1L << i) * scale + "\"", cumulative);
+        }
+        cumulative += histogram[BUCKETS - 1].sum();
+        writeSample(out, name + "_bucket", label + ",le=\"+Inf\"", cumulative);
+        writeSample(out, name + "_sum", label, sum);
+        writeSample(out, name + "_count", label, cumulative);
+    }
+}
@@ -0,0 +1,67 @@
+package sudoku;
+
+// Search statistics of one solver call, filled in when passed to
+// SudokuSolver.solve or enumerateSolutions. An instance can be reused: each
+// call resets it first. Engines that cannot look inside their search (the
+// parallel one) only report the time.
+public class SolverStats {
+    long nodes;
+    long backtracks;
+    long guesses;
+    long propagatedCells;
+    int maxDepth;
+    long nanos;
+
+    public void reset() {
+        nodes = 0;
+        backtracks = 0;
+        guesses = 0;
+        propagatedCells = 0;
+        maxDepth = 0;
+        nanos = 0;
+    }
+
+    // Search nodes entered, the root included
+    public long getNodes() {
+        return nodes;
+    }
+
+    // Nodes that turned out to be dead ends
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    // Values tried while the branch still had other untried alternatives
+    public long getGuesses() {
+        return guesses;
+    }
+
+    // Cells filled by constraint propagation, 0 for engines without it
+    public long getPropagatedCells() {
+        return propagatedCells;
+    }
+
+    // Deepest search level reached: guesses for backtracking, every choice for dancing links
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    // Wall time of the call
+    public long getNanos() {
+        return nanos;
+    }
+
+    void enterNode(int depth) {
+        nodes++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "nodes=" + nodes + " backtracks=" + backtracks + " guesses=" + guesses
+                + " propagated=" + propagatedCells + " maxDepth=" + maxDepth
+                + " time=" + nanos / 1000 + "us";
+    }
+}
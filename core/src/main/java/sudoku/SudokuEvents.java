@@ -0,0 +1,99 @@
+package sudoku;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JDK Flight Recorder events for the phases of puzzle generation and solving,
+// recorded with the standard tooling (jcmd JFR.start, -XX:StartFlightRecording).
+// Node counts are only collected while an event is enabled, so with recording
+// off the instrumented code does no extra work beyond an isEnabled check.
+public final class SudokuEvents {
+
+    private SudokuEvents() {
+    }
+
+    @Name("sudoku.SolvedBoard")
+    @Label("Solved Board Generation")
+    @Category("Sudoku")
+    @Description("Filling an empty board with a random complete solution")
+    @StackTrace(false)
+    static final class SolvedBoard extends Event {
+        @Label("Attempts")
+        @Description("Solver runs needed, more than one means the filler had to retry")
+        int attempts;
+
+        @Label("Nodes")
+        long nodes;
+    }
+
+    @Name("sudoku.CellRemoval")
+    @Label("Cell Removal")
+    @Category("Sudoku")
+    @Description("Removing cells from a solved board down to the difficulty's clue count or rating band")
+    @StackTrace(false)
+    static final class CellRemoval extends Event {
+        @Label("Difficulty")
+        @Description("Requested difficulty, null when a rating band was requested")
+        String difficulty;
+
+        @Label("Min Rating")
+        @Description("Lower end of the requested rating band, 0 for a difficulty")
+        int minRating;
+
+        @Label("Max Rating")
+        @Description("Upper end of the requested rating band, 0 for a difficulty")
+        int maxRating;
+
+        @Label("Rating")
+        @Description("Grade of the resulting board, 0 for a difficulty")
+        int rating;
+
+        @Label("Accepted")
+        @Description("Whether the board was kept, a board graded below the band is dropped for a new one")
+        boolean accepted;
+
+        @Label("Unique")
+        @Description("Whether every removal was checked to keep a single solution")
+        boolean unique;
+
+        @Label("Clues")
+        int clues;
+
+        @Label("Uniqueness Checks")
+        @Description("Solver or capped grader runs deciding whether a removal keeps a single solution")
+        int checks;
+
+        @Label("Nodes")
+        @Description("Search nodes of all uniqueness checks that ran the solver")
+        long nodes;
+    }
+
+    @Name("sudoku.SolveCheck")
+    @Label("Solvability Check")
+    @Category("Sudoku")
+    @Description("Counting the solutions of a puzzle's givens")
+    @StackTrace(false)
+    static final class SolveCheck extends Event {
+        @Label("Difficulty")
+        String difficulty;
+
+        @Label("Engine")
+        String engine;
+
+        @Label("Clues")
+        int clues;
+
+        @Label("Limit")
+        int limit;
+
+        @Label("Solutions")
+        int solutions;
+
+        @Label("Nodes")
+        long nodes;
+    }
+}
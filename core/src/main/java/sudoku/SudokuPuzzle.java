@@ -0,0 +1,307 @@
+package sudoku;
+
+import java.util.*;
+
+public class SudokuPuzzle {
+    private CompactBoard puzzle;
+    private CompactBoard solution;
+    private Difficulty difficulty;
+    private SudokuSolver solver;
+    private ConflictTracker tracker;
+    private Long seed;
+
+    // Difficulty Enum
+    public enum Difficulty {
+        EASY(50),
+        STANDARD(40),
+        HARD(30),
+        EXTREME(20);
+
+        private final int initialFilledCells;
+
+        Difficulty(int initialFilledCells) {
+            this.initialFilledCells = initialFilledCells;
+        }
+
+        public int getInitialFilledCells() {
+            return initialFilledCells;
+        }
+    }
+
+    // Constructor to generate and validate a puzzle
+    public SudokuPuzzle(Difficulty difficulty) {
+        this(difficulty, false);
+    }
+
+    // Constructor that can require the generated puzzle to have exactly one solution
+    public SudokuPuzzle(Difficulty difficulty, boolean uniqueSolution) {
+        this(new PuzzleGenerator(new Random()), difficulty, uniqueSolution);
+    }
+
+    // Constructor generating with an existing generator, reusing its random stream and scratch boards
+    public SudokuPuzzle(PuzzleGenerator generator, Difficulty difficulty, boolean uniqueSolution) {
+        puzzle = new CompactBoard(uniqueSolution ? generator.generateUniquePuzzle(difficulty)
+                : generator.generatePuzzle(difficulty));
+        solution = generator.getLastSolution();
+        this.difficulty = difficulty;
+    }
+
+    // Constructor generating the puzzle determined by the seed: the same seed, difficulty
+    // and uniqueness always give the same puzzle while PuzzleGenerator.VERSION is unchanged
+    public SudokuPuzzle(long seed, Difficulty difficulty, boolean uniqueSolution) {
+        this(new PuzzleGenerator(seed), seed, difficulty, uniqueSolution);
+    }
+
+    // Same as above reusing a generator, which is reseeded first
+    SudokuPuzzle(PuzzleGenerator generator, long seed, Difficulty difficulty, boolean uniqueSolution) {
+        this(generator.reseed(seed), difficulty, uniqueSolution);
+        this.seed = seed;
+    }
+
+    // Regenerate a stored puzzle, failing if its generator version is not the current one
+    public static SudokuPuzzle regenerate(long seed, Difficulty difficulty, boolean uniqueSolution,
+                                          int generatorVersion) {
+        if (generatorVersion != PuzzleGenerator.VERSION) {
+            throw new IllegalArgumentException("Puzzle was generated by generator version " + generatorVersion
+                    + ", this is version " + PuzzleGenerator.VERSION);
+        }
+        return new SudokuPuzzle(seed, difficulty, uniqueSolution);
+    }
+
+    // Constructor building a puzzle from its givens, 0 meaning empty
+    public SudokuPuzzle(int[][] givens) {
+        if (givens.length != 9) {
+            throw new IllegalArgumentException("Board must have 9 rows");
+        }
+        for (int[] row : givens) {
+            if (row.length != 9) {
+                throw new IllegalArgumentException("Board rows must have 9 cells");
+            }
+            for (int cell : row) {
+                if (cell < 0 || cell > 9) {
+                    throw new IllegalArgumentException("Cell values must be between 0 and 9, got " + cell);
+                }
+            }
+        }
+        this.puzzle = new CompactBoard(givens);
+    }
+
+    // Constructor building a puzzle from packed givens, which are copied so later
+    // changes to the caller's board cannot bypass the conflict tracking
+    public SudokuPuzzle(CompactBoard givens) {
+        this(givens.copy(), null, null);
+    }
+
+    // Constructor wrapping already packed boards, which are not copied. The solution
+    // may be null, it is then solved for when first asked for
+    SudokuPuzzle(CompactBoard puzzle, CompactBoard solution) {
+        this(puzzle, solution, null);
+    }
+
+    // Same as above for a puzzle generated at a known difficulty
+    SudokuPuzzle(CompactBoard puzzle, CompactBoard solution, Difficulty difficulty) {
+        this.puzzle = puzzle;
+        this.solution = solution;
+        this.difficulty = difficulty;
+    }
+
+    // The solution the puzzle was generated from (or the first one found by the solver),
+    // or null if the puzzle cannot be solved
+    public int[][] getSolution() {
+        CompactBoard board = getSolutionBoard();
+        return board == null ? null : board.toArray();
+    }
+
+    // Packed form of getSolution
+    public CompactBoard getSolutionBoard() {
+        if (solution == null) {
+            int[][] board = copyPuzzle();
+            if (getSolver().solve(board)) {
+                solution = new CompactBoard(board);
+            }
+        }
+        return solution;
+    }
+
+    // Check if the puzzle has exactly one solution
+    public boolean hasUniqueSolution() {
+        return checkSolutions(2, null) == 1;
+    }
+
+    // Check if the puzzle is solvable, filling stats (which may be null) with the search
+    // statistics of the check and adding them to the shared per-difficulty SolverMetrics
+    public boolean isSolvable(SolverStats stats) {
+        if (stats == null) {
+            stats = new SolverStats();
+        }
+        boolean solvable = checkSolutions(1, stats) > 0;
+        SolverMetrics.global().record(difficulty, stats);
+        return solvable;
+    }
+
+    // Count the solutions of the givens up to limit, reported as a JFR event when
+    // recording. Statistics go to stats, or to a scratch one if only the event needs them
+    private int checkSolutions(int limit, SolverStats stats) {
+        SudokuEvents.SolveCheck event = new SudokuEvents.SolveCheck();
+        event.begin();
+        // Read once: a recording started during the check must not find stats missing
+        boolean recording = event.isEnabled();
+        if (stats == null && recording) {
+            stats = new SolverStats();
+        }
+
+        SudokuSolver checker = getSolver();
+        int[][] board = copyPuzzle();
+        int found = stats == null ? checker.countSolutions(board, limit)
+                : checker.enumerateSolutions(board, limit, null, stats);
+
+        if (recording && event.shouldCommit()) {
+            event.difficulty = difficulty == null ? null : difficulty.name();
+            event.engine = checker.getClass().getSimpleName();
+            event.clues = puzzle.countFilled();
+            event.limit = limit;
+            event.solutions = found;
+            event.nodes = stats.getNodes();
+            event.commit();
+        }
+        return found;
+    }
+
+    // Create a deep copy of the puzzle
+    private int[][] copyPuzzle() {
+        return puzzle.toArray();
+    }
+
+    // Grade the current board by the human solving techniques it needs
+    public DifficultyGrader.Grade grade() {
+        return new DifficultyGrader().grade(puzzle);
+    }
+
+    // Validate the entire puzzle: every cell filled and no number repeated in a row, column or box
+    public boolean isValid() {
+        return BoardValidator.isValid(puzzle, BoardValidator.Mode.COMPLETE);
+    }
+
+    // Check that no number is repeated in a row, column or box, allowing empty cells
+    public boolean isConsistent() {
+        return BoardValidator.isValid(puzzle, BoardValidator.Mode.PARTIAL);
+    }
+
+    // Solver used for the solvability check: the one given to setSolver, otherwise the calling
+    // thread's shared engine chosen by the sudoku.solver system property. The shared engine is
+    // not kept on the puzzle, so stored puzzles stay small
+    public SudokuSolver getSolver() {
+        return solver != null ? solver : SudokuSolver.Engine.fromSystemProperty().forCurrentThread();
+    }
+
+    public void setSolver(SudokuSolver solver) {
+        this.solver = solver;
+    }
+
+    // Seed the puzzle was generated from, or null if it was not generated from a seed
+    public Long getSeed() {
+        return seed;
+    }
+
+    // Difficulty the puzzle was generated for, or null if it was not generated here
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    // Getter for the puzzle, unpacked into a new array; use setNewNumber to change it
+    public int[][] getPuzzle() {
+        return puzzle.toArray();
+    }
+
+    // Copy of the packed board; use setNewNumber to change it
+    public CompactBoard getBoard() {
+        return puzzle.copy();
+    }
+
+    // The packed board itself, for callers in the package that only read it
+    CompactBoard board() {
+        return puzzle;
+    }
+
+    public void setNewNumber(int row, int col, int num) {
+        checkCell(row, col);
+        if (num < 0 || num > 9) {
+            throw new IllegalArgumentException("Number must be between 0 and 9, got " + num);
+        }
+        puzzle.set(row, col, num);
+        if (tracker != null) {
+            tracker.set(row * 9 + col, num);
+        }
+    }
+
+    // Check if any row, column or box currently holds a number twice
+    public boolean hasConflict() {
+        return getTracker().hasConflict();
+    }
+
+    // Check if the cell's number also appears elsewhere in its row, column or box
+    public boolean isConflicting(int row, int col) {
+        checkCell(row, col);
+        return getTracker().isConflicting(row * 9 + col);
+    }
+
+    // Cells involved in a conflict, as {row, col} pairs
+    public List<int[]> getConflictingCells() {
+        List<int[]> cells = new ArrayList<>();
+        ConflictTracker conflicts = getTracker();
+        if (conflicts.hasConflict()) {
+            for (int cell = 0; cell < 81; cell++) {
+                if (conflicts.isConflicting(cell)) {
+                    cells.add(new int[]{cell / 9, cell % 9});
+                }
+            }
+        }
+        return cells;
+    }
+
+    // Check if every cell is filled without conflicts
+    public boolean isComplete() {
+        return getTracker().isComplete();
+    }
+
+    private static void checkCell(int row, int col) {
+        if (row < 0 || row > 8 || col < 0 || col > 8) {
+            throw new IllegalArgumentException("Cell must be within the 9x9 board, got (" + row + ", " + col + ")");
+        }
+    }
+
+    // Conflict counters, built on first use and kept up to date by setNewNumber
+    private ConflictTracker getTracker() {
+        if (tracker == null) {
+            tracker = new ConflictTracker(puzzle);
+        }
+        return tracker;
+    }
+
+    // Print puzzle utility method
+    public void printPuzzle() {
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                int cell = puzzle.get(row, col);
+                System.out.print(cell == 0 ? ". " : cell + " ");
+            }
+            System.out.println();
+        }
+    }
+
+    // Main method to demonstrate usage
+    public static void main(String[] args) {
+        // Generate puzzles of different difficulties
+        SudokuPuzzle easyPuzzle = new SudokuPuzzle(Difficulty.EXTREME);
+        System.out.println("Easy Puzzle:");
+        easyPuzzle.printPuzzle();
+        System.out.println("\nPuzzle is valid: " + easyPuzzle.isValid());
+        System.out.println("Puzzle is consistent: " + easyPuzzle.isConsistent());
+        SolverStats stats = new SolverStats();
+        System.out.println("Puzzle is solvable: " + easyPuzzle.isSolvable(stats));
+        System.out.println("Solver statistics: " + stats);
+    }
+
+
+//    throw new IllegalStateException("Could not generate a valid Sudoku board");
+}
\ No newline at end of file
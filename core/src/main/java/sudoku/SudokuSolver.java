@@ -0,0 +1,72 @@
+package sudoku;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Common interface of the Sudoku solving engines
+public interface SudokuSolver {
+
+    // Available engines, so the solver can be picked at runtime
+    enum Engine {
+        BACKTRACKING(BacktrackingSolver::new),
+        DANCING_LINKS(DancingLinksSolver::new),
+        PARALLEL(ParallelSolver::new);
+
+        // System property naming the engine used when none is set explicitly
+        public static final String PROPERTY = "sudoku.solver";
+
+        private final Supplier<SudokuSolver> factory;
+        private final ThreadLocal<SudokuSolver> shared;
+
+        Engine(Supplier<SudokuSolver> factory) {
+            this.factory = factory;
+            this.shared = ThreadLocal.withInitial(factory);
+        }
+
+        public SudokuSolver create() {
+            return factory.get();
+        }
+
+        // Instance of the engine shared by everything running on the calling thread,
+        // so its scratch arrays (the whole matrix for dancing links) are built once per
+        // thread. Solvers are not reentrant: do not use it again from a solution consumer
+        public SudokuSolver forCurrentThread() {
+            return shared.get();
+        }
+
+        // Engine selected by the sudoku.solver system property, backtracking by default
+        public static Engine fromSystemProperty() {
+            return valueOf(System.getProperty(PROPERTY, BACKTRACKING.name()).trim().toUpperCase());
+        }
+    }
+
+    // Solve the 9x9 board in place (0 meaning empty), returns false if it has no solution
+    boolean solve(int[][] board);
+
+    // Find up to limit solutions of the board, handing a fresh copy of each one to the
+    // consumer (which may be null), and return how many were found
+    int enumerateSolutions(int[][] board, int limit, Consumer<int[][]> consumer);
+
+    // Count the solutions of the board, stopping once limit is reached
+    default int countSolutions(int[][] board, int limit) {
+        return enumerateSolutions(board, limit, null);
+    }
+
+    // Same as solve, recording the search statistics of this call into stats
+    default boolean solve(int[][] board, SolverStats stats) {
+        stats.reset();
+        long start = System.nanoTime();
+        boolean solved = solve(board);
+        stats.nanos = System.nanoTime() - start;
+        return solved;
+    }
+
+    // Same as enumerateSolutions, recording the search statistics of this call into stats
+    default int enumerateSolutions(int[][] board, int limit, Consumer<int[][]> consumer, SolverStats stats) {
+        stats.reset();
+        long start = System.nanoTime();
+        int found = enumerateSolutions(board, limit, consumer);
+        stats.nanos = System.nanoTime() - start;
+        return found;
+    }
+}
@@ -0,0 +1,61 @@
+package sudoku;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD part of BatchValidator, only loaded when jdk.incubator.vector is present.
+// Boards are processed in groups of one board per lane: the group's cell masks
+// are first laid out cell-major (all lanes of cell 0, then of cell 1, ...), then
+// every unit is checked for all boards of the group with a few vector ORs.
+final class VectorBatchValidator {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private static final ThreadLocal<int[]> SCRATCH =
+            ThreadLocal.withInitial(() -> new int[BoardState.CELLS * LANES]);
+
+    private VectorBatchValidator() {
+    }
+
+    // Validate as many whole groups of boards as fit in count, setting their bits in
+    // words; returns how many boards were handled, the rest is left to the scalar loop
+    static int validate(byte[] boards, int count, BoardValidator.Mode mode, long[] words) {
+        boolean complete = mode == BoardValidator.Mode.COMPLETE;
+        int[] cells = SCRATCH.get();
+        int groups = count / LANES;
+        for (int group = 0; group < groups; group++) {
+            int first = group * LANES;
+            for (int lane = 0; lane < LANES; lane++) {
+                int base = (first + lane) * BatchValidator.BOARD_BYTES;
+                for (int cell = 0; cell < BoardState.CELLS; cell++) {
+                    cells[cell * LANES + lane] = BatchValidator.CELL_MASKS[boards[base + cell] & 0xFF];
+                }
+            }
+
+            VectorMask<Integer> valid = SPECIES.maskAll(true);
+            for (int[] unit : ConstraintPropagator.UNITS) {
+                IntVector seen = IntVector.zero(SPECIES);
+                IntVector repeated = IntVector.zero(SPECIES);
+                for (int cell : unit) {
+                    IntVector mask = IntVector.fromArray(SPECIES, cells, cell * LANES);
+                    repeated = repeated.or(seen.and(mask));
+                    seen = seen.or(mask);
+                }
+                valid = valid.and(complete
+                        ? seen.compare(VectorOperators.EQ, BoardState.ALL_DIGITS)
+                        : repeated.or(seen.and(BatchValidator.INVALID)).compare(VectorOperators.EQ, 0));
+            }
+
+            long bits = valid.toLong();
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((bits & (1L << lane)) != 0) {
+                    int board = first + lane;
+                    words[board >> 6] |= 1L << board;
+                }
+            }
+        }
+        return groups * LANES;
+    }
+}
@@ -0,0 +1,42 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchValidatorTest {
+
+    // Solved, partial and broken boards in a count that is not a multiple of any lane width
+    @Test
+    void agreesWithBoardValidator() {
+        assertTrue(BatchValidator.isVectorized(), "tests run with jdk.incubator.vector");
+
+        Random random = new Random(1);
+        PuzzleGenerator generator = new PuzzleGenerator(1L);
+        int count = 301;
+        CompactBoard[] boards = new CompactBoard[count];
+        for (int i = 0; i < count; i++) {
+            int[][] board = i % 3 == 0 ? generator.generateSolvedBoard()
+                    : generator.generatePuzzle(SudokuPuzzle.Difficulty.STANDARD);
+            if (i % 5 == 0) {
+                board[random.nextInt(9)][random.nextInt(9)] = 1 + random.nextInt(9);
+            }
+            boards[i] = new CompactBoard(board);
+        }
+        byte[] packed = BatchValidator.pack(boards);
+
+        for (BoardValidator.Mode mode : BoardValidator.Mode.values()) {
+            BitSet valid = BatchValidator.validate(packed, count, mode);
+            long[] scalar = new long[(count + 63) / 64];
+            BatchValidator.validateScalar(packed, 0, count, mode, scalar);
+            assertEquals(BitSet.valueOf(scalar), valid, mode.name());
+            for (int i = 0; i < count; i++) {
+                assertEquals(BoardValidator.isValid(boards[i], mode), valid.get(i), mode + " board " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardValidatorTest {
+
+    @Test
+    void solvedBoardIsValidInBothModes() {
+        int[][] solution = new SudokuPuzzle(Boards.parse(Boards.HARDEST[0])).getSolution();
+        for (BoardValidator.Mode mode : BoardValidator.Mode.values()) {
+            assertTrue(isValid(solution, mode), mode.name());
+        }
+    }
+
+    @Test
+    void emptyCellsAreOnlyAllowedWhenPartial() {
+        assertTrue(isValid(new int[9][9], BoardValidator.Mode.PARTIAL));
+        assertFalse(isValid(new int[9][9], BoardValidator.Mode.COMPLETE));
+
+        int[][] board = new SudokuPuzzle(Boards.parse(Boards.HARDEST[0])).getSolution();
+        board[8][8] = 0;
+        assertTrue(isValid(board, BoardValidator.Mode.PARTIAL));
+        assertFalse(isValid(board, BoardValidator.Mode.COMPLETE));
+    }
+
+    // Two givens sharing one unit and nothing else, for every row, column and box so
+    // both words of the packed column and box masks are covered
+    @ParameterizedTest
+    @EnumSource(BoardValidator.Mode.class)
+    void findsRepeatsInEachUnit(BoardValidator.Mode mode) {
+        for (int unit = 0; unit < 9; unit++) {
+            int[][] row = new int[9][9];
+            row[unit][0] = 5;
+            row[unit][8] = 5;
+            assertFalse(isValid(row, mode), "row " + unit);
+
+            int[][] column = new int[9][9];
+            column[0][unit] = 5;
+            column[8][unit] = 5;
+            assertFalse(isValid(column, mode), "column " + unit);
+
+            int[][] box = new int[9][9];
+            box[unit / 3 * 3][unit % 3 * 3] = 5;
+            box[unit / 3 * 3 + 2][unit % 3 * 3 + 1] = 5;
+            assertFalse(isValid(box, mode), "box " + unit);
+
+            // Same cells with different numbers
+            box[unit / 3 * 3][unit % 3 * 3] = 4;
+            assertEquals(mode == BoardValidator.Mode.PARTIAL, isValid(box, mode), "box " + unit);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(BoardValidator.Mode.class)
+    void rejectsOutOfRangeNumbers(BoardValidator.Mode mode) {
+        int[][] board = new SudokuPuzzle(Boards.parse(Boards.HARDEST[0])).getSolution();
+        board[4][4] = 10;
+        assertFalse(BoardValidator.isValid(board, mode));
+        board[4][4] = -1;
+        assertFalse(BoardValidator.isValid(board, mode));
+    }
+
+    // Carved puzzles with a random extra number, which repeats somewhere about half the time
+    @ParameterizedTest
+    @EnumSource(BoardValidator.Mode.class)
+    void agreesWithPlainCheck(BoardValidator.Mode mode) {
+        PuzzleGenerator generator = new PuzzleGenerator(17L);
+        SplittableRandom random = new SplittableRandom(17L);
+        for (int i = 0; i < 200; i++) {
+            int[][] board = i % 10 == 0 ? generator.generateSolvedBoard()
+                    : generator.generatePuzzle(SudokuPuzzle.Difficulty.EASY);
+            if (i % 2 == 1) {
+                board[random.nextInt(9)][random.nextInt(9)] = 1 + random.nextInt(9);
+            }
+            assertEquals(plainCheck(board, mode), isValid(board, mode), "board " + i);
+        }
+    }
+
+    // Checks the array and packed forms, which must agree
+    private static boolean isValid(int[][] board, BoardValidator.Mode mode) {
+        boolean valid = BoardValidator.isValid(board, mode);
+        assertEquals(valid, BoardValidator.isValid(new CompactBoard(board), mode));
+        return valid;
+    }
+
+    private static boolean plainCheck(int[][] board, BoardValidator.Mode mode) {
+        for (int a = 0; a < 81; a++) {
+            int num = board[a / 9][a % 9];
+            if (num == 0) {
+                if (mode == BoardValidator.Mode.COMPLETE) {
+                    return false;
+                }
+                continue;
+            }
+            for (int b = a + 1; b < 81; b++) {
+                boolean shared = a / 9 == b / 9 || a % 9 == b % 9
+                        || (a / 27 == b / 27 && a % 9 / 3 == b % 9 / 3);
+                if (shared && board[b / 9][b % 9] == num) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
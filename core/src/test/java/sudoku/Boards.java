@@ -0,0 +1,34 @@
+package sudoku;
+
+// Boards shared by the tests
+final class Boards {
+    // Well known puzzles with a single solution that need a lot of search
+    static final String[] HARDEST = {
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+            "..............3.85..1.2.......5.7.....4...1...9.......5......73..2.1........4...9",
+            ".......1.4.........2...........5.4.7..8...3....1.9....3..4..2...5.1........8.6...",
+            "1....7.9..3..2...8..96..5....53..9...1..8...26....4...3......1..4......7..7...3..",
+    };
+
+    private Boards() {
+    }
+
+    // Board of a line in the one-line format, '.' meaning empty
+    static int[][] parse(String line) {
+        int[][] board = new int[9][9];
+        for (int cell = 0; cell < 81; cell++) {
+            char c = line.charAt(cell);
+            board[cell / 9][cell % 9] = c == '.' ? 0 : c - '0';
+        }
+        return board;
+    }
+
+    static int[][] copy(int[][] board) {
+        int[][] copy = new int[9][];
+        for (int row = 0; row < 9; row++) {
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
+}
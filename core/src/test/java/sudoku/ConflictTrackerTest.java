@@ -0,0 +1,87 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConflictTrackerTest {
+
+    @Test
+    void conflictAppearsAndClearsWithTheDuplicate() {
+        ConflictTracker tracker = new ConflictTracker(new CompactBoard());
+        tracker.set(0, 5);
+        assertFalse(tracker.hasConflict());
+        assertEquals(1, tracker.getFilledCells());
+
+        // Same row, then same column and same box: one cell in several units
+        tracker.set(8, 5);
+        assertTrue(tracker.hasConflict());
+        assertTrue(tracker.isConflicting(0));
+        assertTrue(tracker.isConflicting(8));
+        tracker.set(10, 5);
+        assertTrue(tracker.isConflicting(10));
+
+        tracker.set(8, 0);
+        assertTrue(tracker.hasConflict());
+        assertFalse(tracker.isConflicting(8));
+        tracker.set(10, 6);
+        assertFalse(tracker.hasConflict());
+        assertFalse(tracker.isConflicting(0));
+        assertEquals(2, tracker.getFilledCells());
+    }
+
+    @Test
+    void overwritingMovesTheCount() {
+        ConflictTracker tracker = new ConflictTracker(new CompactBoard());
+        tracker.set(0, 3);
+        tracker.set(1, 3);
+        assertTrue(tracker.hasConflict());
+        tracker.set(1, 4);
+        assertFalse(tracker.hasConflict());
+        tracker.set(1, 4);
+        assertEquals(2, tracker.getFilledCells());
+    }
+
+    @Test
+    void completeOnlyWhenFilledWithoutConflicts() {
+        SudokuPuzzle puzzle = new SudokuPuzzle(Boards.parse(Boards.HARDEST[0]));
+        CompactBoard solution = puzzle.getSolutionBoard();
+        ConflictTracker tracker = new ConflictTracker(solution);
+        assertTrue(tracker.isComplete());
+
+        int cell = 40;
+        int num = solution.get(cell);
+        tracker.set(cell, 0);
+        assertFalse(tracker.isComplete());
+        assertFalse(tracker.hasConflict());
+        tracker.set(cell, num % 9 + 1);
+        assertFalse(tracker.isComplete());
+        assertTrue(tracker.hasConflict());
+        tracker.set(cell, num);
+        assertTrue(tracker.isComplete());
+    }
+
+    // Boards passed to or read from a puzzle are copies, so writing to them cannot
+    // leave the puzzle's tracker behind its board
+    @Test
+    void puzzleBoardsAreCopies() {
+        CompactBoard givens = new CompactBoard(Boards.parse(Boards.HARDEST[0]));
+        SudokuPuzzle puzzle = new SudokuPuzzle(givens);
+        assertFalse(puzzle.hasConflict());
+
+        givens.set(0, 1, 4);
+        puzzle.getBoard().set(0, 2, 4);
+        assertFalse(puzzle.hasConflict());
+        assertEquals(0, puzzle.getPuzzle()[0][1]);
+        assertEquals(0, puzzle.getPuzzle()[0][2]);
+
+        puzzle.setNewNumber(0, 1, 4);
+        assertTrue(puzzle.hasConflict());
+        assertTrue(puzzle.isConflicting(0, 0));
+        assertEquals(4, puzzle.getBoard().get(0, 1));
+        puzzle.setNewNumber(0, 1, 0);
+        assertFalse(puzzle.hasConflict());
+    }
+}
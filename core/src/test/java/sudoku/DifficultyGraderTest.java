@@ -0,0 +1,84 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DifficultyGraderTest {
+
+    // Generated puzzles with one solution, each needing the technique and nothing harder
+    @ParameterizedTest
+    @CsvSource({
+            "HIDDEN_SINGLE, ......692.2..468..8.....5..4.......13..714.......93...5.....3..63..5.18..8...7..4",
+            "NAKED_SINGLE, 6..43...98......635..8......18..9...2...........1..4....3.97.56.2..8......5...7..",
+            "LOCKED_CANDIDATES, ...3...........26.....5...1.2.5...8....13.7..71.4.8...1.46......7...48....5...49.",
+            "NAKED_PAIR, ......5.96....9....325..64.....83....8......1...94..3....7.1.....6....2.2.169....",
+            "X_WING, 4....8.....57..86.........37..29...51........3..5..4.9...41.9..6.......2.4.87..3.",
+            "HIDDEN_PAIR, ....4.........52.63.....9.......4...5..8.7..47.95...2..2.....6....3..7.8.6...8.9.",
+            "NAKED_TRIPLE, .8.7.....7.5..6..4..9....723................9...13.6.8.3..5..9..9...4.2.4....2..5",
+            "SWORDFISH, 6....7..5..92...3.7...9.......1......9.....84265...7...2..6....37...5.1....83...6",
+            "HIDDEN_TRIPLE, ..3.....5.1.2..8....6.......7.3.....1..8..74..2...1.3....7.....3...4..6.4...16.7.",
+            "XY_WING, ....4......7.681.....35...99..6..2.5....7....7.6..4...4..18.96...........2...7..4",
+            "SIMPLE_COLORING, ..16..7..4......6.9..748...82..5.9.3........2......8.......75.95....6.1..9...3...",
+    })
+    void gradesByHardestTechniqueNeeded(DifficultyGrader.Technique technique, String line) {
+        DifficultyGrader grader = new DifficultyGrader();
+        int[][] givens = Boards.parse(line);
+        DifficultyGrader.Grade grade = grader.grade(givens);
+        assertEquals(technique, grade.getHardest(), grade.toString());
+        assertEquals(technique.getRating(), grade.getRating());
+        assertTrue(grade.isSolved(), grade.toString());
+        assertTrue(grade.getUses(technique) > 0);
+
+        // Without the technique the logic gets stuck
+        DifficultyGrader.Grade capped = grader.gradeUpTo(givens, technique.getRating() - 1);
+        assertEquals(DifficultyGrader.Technique.GUESSING, capped.getHardest(), capped.toString());
+        assertFalse(capped.isSolved());
+        assertEquals(grade.toString(), grader.gradeUpTo(givens, technique.getRating()).toString());
+    }
+
+    // Hard for a search is not always hard for a person: some of these fall to
+    // singles, others need guessing, but a solvable puzzle never hits a contradiction
+    @Test
+    void solvablePuzzlesAreNeverContradictory() {
+        DifficultyGrader grader = new DifficultyGrader();
+        for (String line : Boards.HARDEST) {
+            DifficultyGrader.Grade grade = grader.grade(Boards.parse(line));
+            assertFalse(grade.isContradictory(), line);
+            assertEquals(grade.getHardest() != DifficultyGrader.Technique.GUESSING, grade.isSolved(), line);
+        }
+        DifficultyGrader.Grade grade = grader.grade(Boards.parse(Boards.HARDEST[1]));
+        assertEquals(DifficultyGrader.Technique.GUESSING, grade.getHardest(), grade.toString());
+    }
+
+    @Test
+    void fullBoardNeedsNothing() {
+        SudokuPuzzle puzzle = new SudokuPuzzle(Boards.parse(Boards.HARDEST[0]));
+        DifficultyGrader.Grade grade = new DifficultyGrader().grade(puzzle.getSolutionBoard());
+        assertNull(grade.getHardest());
+        assertEquals(0, grade.getRating());
+        assertEquals(0, grade.getScore());
+        assertTrue(grade.isSolved());
+    }
+
+    // Top right cell can only be a 9, which its column already has
+    @Test
+    void reportsContradictions() {
+        DifficultyGrader.Grade grade = new DifficultyGrader().grade(
+                Boards.parse("12345678.........9" + ".".repeat(63)));
+        assertTrue(grade.isContradictory());
+        assertFalse(grade.isSolved());
+    }
+
+    @Test
+    void rejectsRepeatedGivens() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DifficultyGrader().grade(Boards.parse("11" + ".".repeat(79))));
+    }
+}
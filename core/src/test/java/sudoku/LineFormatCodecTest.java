@@ -0,0 +1,75 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineFormatCodecTest {
+
+    @Test
+    void roundTripsThroughFile(@TempDir Path dir) throws IOException {
+        PuzzleGenerator generator = new PuzzleGenerator(7L);
+        List<CompactBoard> written = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            written.add(new CompactBoard(generator.generatePuzzle(SudokuPuzzle.Difficulty.HARD)));
+        }
+        Path file = dir.resolve("puzzles.txt");
+        try (LineFormatCodec.Writer writer = LineFormatCodec.openWriter(file)) {
+            for (CompactBoard board : written) {
+                writer.write(board);
+            }
+        }
+
+        List<CompactBoard> read = new ArrayList<>();
+        assertEquals(written.size(), LineFormatCodec.read(file, read::add));
+        assertEquals(written, read);
+    }
+
+    @Test
+    void skipsCommentsBlankLinesAndTrailingColumns() throws IOException {
+        String puzzle = Boards.HARDEST[0];
+        String text = "# header\n"
+                + "\n"
+                + puzzle + "\n"
+                + "  \t" + puzzle.replace('.', '0') + "\r\n"
+                + "   \n"
+                + puzzle + " 9.9 rating\n"
+                + puzzle;
+        List<CompactBoard> read = read(text);
+
+        assertEquals(4, read.size());
+        CompactBoard expected = new CompactBoard(Boards.parse(puzzle));
+        for (CompactBoard board : read) {
+            assertEquals(expected, board);
+        }
+    }
+
+    @Test
+    void reportsMalformedLines() {
+        IOException shortLine = assertThrows(IOException.class, () -> read("# header\n123\n"));
+        assertEquals("Line 2 has only 3 cells", shortLine.getMessage());
+
+        IOException badCharacter = assertThrows(IOException.class,
+                () -> read(Boards.HARDEST[0].substring(0, 10) + "x" + Boards.HARDEST[0].substring(11)));
+        assertTrue(badCharacter.getMessage().startsWith("Line 1 has unexpected character 'x'"),
+                badCharacter.getMessage());
+    }
+
+    private static List<CompactBoard> read(String text) throws IOException {
+        List<CompactBoard> boards = new ArrayList<>();
+        LineFormatCodec.read(Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII))),
+                boards::add);
+        return boards;
+    }
+}
@@ -0,0 +1,95 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapPuzzleStoreTest {
+
+    @Test
+    void roundTripsPuzzlesInOrder() {
+        PuzzleGenerator generator = new PuzzleGenerator(5L);
+        List<SudokuPuzzle> puzzles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            puzzles.add(new SudokuPuzzle(generator, SudokuPuzzle.Difficulty.HARD, false));
+        }
+        try (OffHeapPuzzleStore store = new OffHeapPuzzleStore(16)) {
+            for (int i = 0; i < puzzles.size(); i++) {
+                assertEquals(i, store.add(puzzles.get(i)));
+            }
+            assertEquals(puzzles.size(), store.size());
+            for (int i = 0; i < puzzles.size(); i++) {
+                assertEquals(puzzles.get(i).getBoard(), store.getBoard(i));
+                assertEquals(puzzles.get(i).getSolutionBoard(), store.getSolutionBoard(i));
+                assertEquals(puzzles.get(i).getBoard(), store.get(i).getBoard());
+            }
+            List<SudokuPuzzle> read = new ArrayList<>();
+            store.forEach(read::add);
+            assertEquals(puzzles.size(), read.size());
+            for (int i = 0; i < puzzles.size(); i++) {
+                assertEquals(puzzles.get(i).getSolutionBoard(), read.get(i).getSolutionBoard());
+            }
+
+            // Boards read out are copies
+            store.getBoard(0).set(0, 0);
+            store.get(0).setNewNumber(0, 1, 9);
+            assertEquals(puzzles.get(0).getBoard(), store.getBoard(0));
+        }
+    }
+
+    @Test
+    void rejectsAddsPastCapacity() {
+        SudokuPuzzle puzzle = new SudokuPuzzle(Boards.parse(Boards.HARDEST[0]));
+        try (OffHeapPuzzleStore store = new OffHeapPuzzleStore(2)) {
+            store.add(puzzle);
+            store.add(puzzle);
+            assertThrows(IllegalStateException.class, () -> store.add(puzzle));
+            assertEquals(2, store.size());
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(2));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getBoard(-1));
+        }
+    }
+
+    // Top right cell can only be a 9, which its column already has
+    @Test
+    void rejectsPuzzleWithoutSolution() {
+        SudokuPuzzle puzzle = new SudokuPuzzle(Boards.parse("12345678.........9" + ".".repeat(63)));
+        try (OffHeapPuzzleStore store = new OffHeapPuzzleStore(1)) {
+            assertThrows(IllegalArgumentException.class, () -> store.add(puzzle));
+            assertEquals(0, store.size());
+        }
+    }
+
+    // Every thread's records land whole at the index add returned
+    @Test
+    void concurrentAddsKeepRecordsIntact() {
+        CompactBoard[] boards = new CompactBoard[Boards.HARDEST.length];
+        CompactBoard[] solutions = new CompactBoard[Boards.HARDEST.length];
+        for (int i = 0; i < boards.length; i++) {
+            SudokuPuzzle puzzle = new SudokuPuzzle(Boards.parse(Boards.HARDEST[i]));
+            boards[i] = puzzle.getBoard();
+            solutions[i] = puzzle.getSolutionBoard();
+        }
+        int adds = 4000;
+        try (OffHeapPuzzleStore store = new OffHeapPuzzleStore(adds)) {
+            long[] indexes = IntStream.range(0, adds).parallel()
+                    .mapToLong(i -> store.add(boards[i % boards.length], solutions[i % boards.length]))
+                    .toArray();
+            assertEquals(adds, store.size());
+            boolean[] seen = new boolean[adds];
+            for (int i = 0; i < adds; i++) {
+                int index = (int) indexes[i];
+                assertFalse(seen[index], "index " + index + " handed out twice");
+                seen[index] = true;
+                assertEquals(boards[i % boards.length], store.getBoard(index));
+                assertEquals(solutions[i % boards.length], store.getSolutionBoard(index));
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleCanonicalizerTest {
+
+    @Test
+    void hashIsInvariantUnderTransforms() {
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer();
+        PuzzleTransformer transformer = new PuzzleTransformer(new Random(3));
+        int[][] transformed = new int[9][9];
+        for (int[][] board : boards(200)) {
+            byte[] canonical = canonicalizer.canonicalize(board);
+            long hash = canonicalizer.canonicalHash(board);
+            for (int i = 0; i < 5; i++) {
+                transformer.randomize();
+                transformer.apply(board, transformed);
+                assertArrayEquals(canonical, canonicalizer.canonicalize(transformed));
+                assertEquals(hash, canonicalizer.canonicalHash(transformed));
+            }
+        }
+    }
+
+    // The row by row search has to find the same form as trying every column order
+    @Test
+    void matchesReferenceSearch() {
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer();
+        ReferenceCanonicalizer reference = new ReferenceCanonicalizer();
+        List<int[][]> boards = boards(60);
+        boards.add(new int[9][9]);
+        boards.add(new PuzzleGenerator(5L).generateSolvedBoard());
+        for (int[][] board : boards) {
+            assertArrayEquals(reference.canonicalize(board), canonicalizer.canonicalize(board));
+        }
+    }
+
+    @Test
+    void distinguishesDifferentPuzzles() {
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer();
+        int[][] puzzle = Boards.parse(Boards.HARDEST[0]);
+        int[][] solution = Boards.copy(puzzle);
+        new BacktrackingSolver().solve(solution);
+        // One more given makes a different puzzle
+        for (int cell = 0; cell < 81; cell++) {
+            if (puzzle[cell / 9][cell % 9] == 0) {
+                int[][] harder = Boards.copy(puzzle);
+                harder[cell / 9][cell % 9] = solution[cell / 9][cell % 9];
+                assertNotEquals(canonicalizer.canonicalHash(puzzle), canonicalizer.canonicalHash(harder));
+                break;
+            }
+        }
+        assertNotEquals(canonicalizer.canonicalHash(Boards.parse(Boards.HARDEST[0])),
+                canonicalizer.canonicalHash(Boards.parse(Boards.HARDEST[1])));
+    }
+
+    @Test
+    void relabelsDigitsInOrderOfAppearance() {
+        byte[] canonical = new PuzzleCanonicalizer().canonicalize(Boards.parse(Boards.HARDEST[2]));
+        int next = 1;
+        for (byte value : canonical) {
+            if (value == next) {
+                next++;
+            } else {
+                assertTrue(value < next, "digit " + value + " before " + next);
+            }
+        }
+    }
+
+    private static List<int[][]> boards(int count) {
+        PuzzleGenerator generator = new PuzzleGenerator(9L);
+        List<int[][]> boards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SudokuPuzzle.Difficulty difficulty = SudokuPuzzle.Difficulty.values()[i % 4];
+            boards.add(i % 2 == 0 ? generator.generateUniquePuzzle(difficulty) : generator.generatePuzzle(difficulty));
+        }
+        return boards;
+    }
+}
@@ -0,0 +1,116 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PuzzleDatabaseTest {
+
+    @Test
+    void roundTripsRecords(@TempDir Path dir) throws IOException {
+        PuzzleGenerator generator = new PuzzleGenerator(11L);
+        PuzzleCanonicalizer canonicalizer = new PuzzleCanonicalizer();
+        List<SudokuPuzzle> puzzles = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            puzzles.add(new SudokuPuzzle(generator, SudokuPuzzle.Difficulty.values()[i % 4], true));
+        }
+        // Givens without a difficulty, solved when written
+        puzzles.add(new SudokuPuzzle(Boards.parse(Boards.HARDEST[0])));
+
+        Path file = dir.resolve("puzzles.sudb");
+        try (PuzzleDatabaseWriter writer = new PuzzleDatabaseWriter(file)) {
+            for (SudokuPuzzle puzzle : puzzles) {
+                writer.append(puzzle);
+            }
+        }
+
+        try (PuzzleDatabase database = PuzzleDatabase.open(file)) {
+            assertEquals(puzzles.size(), database.size());
+            for (int i = 0; i < puzzles.size(); i++) {
+                SudokuPuzzle puzzle = puzzles.get(i);
+                assertEquals(puzzle.getBoard(), database.getBoard(i));
+                assertEquals(puzzle.getSolutionBoard(), database.getSolutionBoard(i));
+                assertEquals(puzzle.getDifficulty(), database.getDifficulty(i));
+                assertEquals(puzzle.getBoard().countFilled(), database.getClueCount(i));
+                assertEquals(canonicalizer.canonicalHash(puzzle.getPuzzle()), database.getCanonicalHash(i));
+            }
+            assertNull(database.getDifficulty(puzzles.size() - 1));
+        }
+    }
+
+    @Test
+    void appendsAfterExistingRecords(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("puzzles.sudb");
+        SudokuPuzzle first = new SudokuPuzzle(Boards.parse(Boards.HARDEST[0]));
+        SudokuPuzzle second = new SudokuPuzzle(Boards.parse(Boards.HARDEST[1]));
+        try (PuzzleDatabaseWriter writer = new PuzzleDatabaseWriter(file)) {
+            assertEquals(0, writer.append(first));
+        }
+        try (PuzzleDatabaseWriter writer = new PuzzleDatabaseWriter(file)) {
+            assertEquals(1, writer.size());
+            // A hash computed by the caller is stored as given
+            assertEquals(1, writer.append(second, 42L));
+        }
+
+        try (PuzzleDatabase database = PuzzleDatabase.open(file)) {
+            assertEquals(2, database.size());
+            assertEquals(first.getBoard(), database.getBoard(0));
+            assertEquals(second.getBoard(), database.getBoard(1));
+            assertEquals(42L, database.getCanonicalHash(1));
+        }
+    }
+
+    // Counts that are negative or need more records than the file holds, including
+    // ones large enough to overflow a multiplication by the record size
+    @Test
+    void rejectsCorruptRecordCount(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("puzzles.sudb");
+        try (PuzzleDatabaseWriter writer = new PuzzleDatabaseWriter(file)) {
+            writer.append(new SudokuPuzzle(Boards.parse(Boards.HARDEST[0])));
+        }
+        for (long count : new long[]{-1, 2, Long.MAX_VALUE / PuzzleDatabase.RECORD_BYTES + 1}) {
+            ByteBuffer field = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, count);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(field, PuzzleDatabase.COUNT_OFFSET);
+            }
+            assertThrows(IOException.class, () -> PuzzleDatabase.open(file).close(), "count " + count);
+            assertThrows(IOException.class, () -> new PuzzleDatabaseWriter(file).close(), "count " + count);
+        }
+    }
+
+    @Test
+    void rejectsCorruptDifficulty(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("puzzles.sudb");
+        try (PuzzleDatabaseWriter writer = new PuzzleDatabaseWriter(file)) {
+            writer.append(new SudokuPuzzle(Boards.parse(Boards.HARDEST[0])));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{7}), PuzzleDatabase.HEADER_BYTES + PuzzleDatabase.DIFFICULTY_OFFSET);
+        }
+        try (PuzzleDatabase database = PuzzleDatabase.open(file)) {
+            assertThrows(IllegalStateException.class, () -> database.getDifficulty(0));
+        }
+    }
+
+    @Test
+    void rejectsFileShorterThanHeader(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("puzzles.sudb");
+        Files.write(file, new byte[]{'S', 'U', 'D', 'B', 1, 0});
+        assertThrows(IOException.class, () -> PuzzleDatabase.open(file).close());
+        assertThrows(IOException.class, () -> new PuzzleDatabaseWriter(file).close());
+        assertEquals(6, Files.size(file));
+    }
+}
@@ -0,0 +1,106 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleGeneratorTest {
+
+    @Test
+    void sameSeedRegeneratesSamePuzzle() {
+        PuzzleGenerator reused = new PuzzleGenerator(1L);
+        for (long seed : new long[]{0L, 42L, -7L, Long.MAX_VALUE}) {
+            for (boolean unique : new boolean[]{false, true}) {
+                SudokuPuzzle puzzle = new SudokuPuzzle(seed, SudokuPuzzle.Difficulty.HARD, unique);
+                SudokuPuzzle again = SudokuPuzzle.regenerate(seed, SudokuPuzzle.Difficulty.HARD, unique,
+                        PuzzleGenerator.VERSION);
+                assertEquals(puzzle.getBoard(), again.getBoard());
+                assertEquals(puzzle.getSolutionBoard(), again.getSolutionBoard());
+                // A generator that made other puzzles first still gives the same one
+                SudokuPuzzle fromReused = new SudokuPuzzle(reused, seed, SudokuPuzzle.Difficulty.HARD, unique);
+                assertEquals(puzzle.getBoard(), fromReused.getBoard());
+                assertEquals(seed, fromReused.getSeed());
+            }
+        }
+    }
+
+    // java.util.Random dropped the top 16 bits of the seed, so these used to collide
+    @Test
+    void everySeedBitCounts() {
+        long seed = 123456789L;
+        for (int bit = 48; bit < 64; bit++) {
+            assertNotEquals(new SudokuPuzzle(seed, SudokuPuzzle.Difficulty.HARD, false).getBoard(),
+                    new SudokuPuzzle(seed ^ (1L << bit), SudokuPuzzle.Difficulty.HARD, false).getBoard(),
+                    "bit " + bit);
+        }
+    }
+
+    @Test
+    void rejectsOtherGeneratorVersions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SudokuPuzzle.regenerate(1L, SudokuPuzzle.Difficulty.EASY, false, PuzzleGenerator.VERSION - 1));
+    }
+
+    @Test
+    void batchIsIndependentOfWorkerCount() {
+        int count = 48;
+        long masterSeed = 2024L;
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            SudokuPuzzle[] one = new PuzzleBatchGenerator(single).generate(count, SudokuPuzzle.Difficulty.STANDARD,
+                    true, masterSeed);
+            SudokuPuzzle[] many = new PuzzleBatchGenerator(several).generate(count, SudokuPuzzle.Difficulty.STANDARD,
+                    true, masterSeed);
+            Set<CompactBoard> distinct = new HashSet<>();
+            for (int i = 0; i < count; i++) {
+                assertEquals(one[i].getBoard(), many[i].getBoard(), "puzzle " + i);
+                assertEquals(PuzzleGenerator.puzzleSeed(masterSeed, i), many[i].getSeed());
+                SudokuPuzzle regenerated = new SudokuPuzzle(many[i].getSeed(), SudokuPuzzle.Difficulty.STANDARD, true);
+                assertEquals(many[i].getBoard(), regenerated.getBoard(), "puzzle " + i);
+                distinct.add(many[i].getBoard());
+            }
+            assertEquals(count, distinct.size());
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"15, 23", "26, 34", "36, 45", "100, 100"})
+    void ratedPuzzlesAreUniqueAndInBand(int minRating, int maxRating) {
+        PuzzleGenerator generator = new PuzzleGenerator(99L);
+        DifficultyGrader grader = new DifficultyGrader();
+        for (int i = 0; i < 3; i++) {
+            int[][] givens = generator.generateRatedPuzzle(minRating, maxRating);
+            int rating = grader.grade(givens).getRating();
+            assertTrue(rating >= minRating && rating <= maxRating, "rating " + rating);
+            assertEquals(rating, generator.getLastGrade().getRating());
+            assertEquals(1, SudokuSolver.Engine.BACKTRACKING.create().countSolutions(Boards.copy(givens), 2));
+            int[][] solution = generator.getLastSolution().toArray();
+            for (int cell = 0; cell < 81; cell++) {
+                int given = givens[cell / 9][cell % 9];
+                if (given != 0) {
+                    assertEquals(solution[cell / 9][cell % 9], given, "cell " + cell);
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsBandWithoutTechnique() {
+        PuzzleGenerator generator = new PuzzleGenerator(1L);
+        assertThrows(IllegalArgumentException.class, () -> generator.generateRatedPuzzle(46, 99));
+        assertThrows(IllegalArgumentException.class, () -> generator.generateRatedPuzzle(30, 20));
+    }
+}
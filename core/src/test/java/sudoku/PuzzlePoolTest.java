@@ -0,0 +1,99 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzlePoolTest {
+
+    // Players fill in the taken puzzles, wrong numbers included, while the refill is
+    // still deriving variants from them; the variants must keep the original givens
+    @Test
+    void variantsIgnoreEntriesInTakenBase() {
+        try (PuzzlePool pool = new PuzzlePool(2, 8, 1, true, 4)) {
+            for (int i = 0; i < 60; i++) {
+                SudokuPuzzle puzzle = pool.take(SudokuPuzzle.Difficulty.EASY);
+                assertGivensMatchSolution(puzzle);
+                int[][] givens = puzzle.getPuzzle();
+                for (int cell = 0; cell < 81; cell++) {
+                    if (givens[cell / 9][cell % 9] == 0) {
+                        puzzle.setNewNumber(cell / 9, cell % 9, 1 + cell % 9);
+                    }
+                }
+            }
+        }
+    }
+
+    // Taking down to the low watermark are all hits and starts a refill back to the high one
+    @Test
+    void takesHitAndRefill() throws InterruptedException {
+        try (PuzzlePool pool = new PuzzlePool(2, 6, 1, false)) {
+            awaitFull(pool, SudokuPuzzle.Difficulty.STANDARD, 6, 1);
+            for (int i = 0; i < 4; i++) {
+                assertGivensMatchSolution(pool.take(SudokuPuzzle.Difficulty.STANDARD), false);
+            }
+            assertEquals(4, pool.getHits(SudokuPuzzle.Difficulty.STANDARD));
+            assertEquals(0, pool.getMisses(SudokuPuzzle.Difficulty.STANDARD));
+
+            awaitFull(pool, SudokuPuzzle.Difficulty.STANDARD, 6, 2);
+            assertTrue(pool.getLastRefillLagNanos(SudokuPuzzle.Difficulty.STANDARD) > 0);
+            assertTrue(pool.getMaxRefillLagNanos(SudokuPuzzle.Difficulty.STANDARD)
+                    >= pool.getLastRefillLagNanos(SudokuPuzzle.Difficulty.STANDARD));
+            // Other difficulties have their own counters
+            assertEquals(0, pool.getHits(SudokuPuzzle.Difficulty.EASY));
+        }
+    }
+
+    // Once the workers are stopped the pool runs dry and puzzles are generated on the caller's thread
+    @Test
+    void emptyPoolMisses() {
+        PuzzlePool pool = new PuzzlePool(0, 1, 1, true);
+        pool.close();
+        for (int i = 0; i < 3; i++) {
+            assertGivensMatchSolution(pool.take(SudokuPuzzle.Difficulty.HARD));
+        }
+        // At most the one puzzle the first refill got in before the close
+        assertTrue(pool.getHits(SudokuPuzzle.Difficulty.HARD) <= 1);
+        assertEquals(3, pool.getHits(SudokuPuzzle.Difficulty.HARD) + pool.getMisses(SudokuPuzzle.Difficulty.HARD));
+        assertEquals(0, pool.size(SudokuPuzzle.Difficulty.HARD));
+    }
+
+    @Test
+    void rejectsBadSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new PuzzlePool(4, 4, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzlePool(-1, 4, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> new PuzzlePool(1, 4, 1, false, 0));
+    }
+
+    private static void awaitFull(PuzzlePool pool, SudokuPuzzle.Difficulty difficulty, int size, long refills)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (pool.size(difficulty) < size || pool.getRefills(difficulty) < refills) {
+            assertTrue(System.nanoTime() < deadline, "refill did not finish");
+            Thread.sleep(5);
+        }
+    }
+
+    static void assertGivensMatchSolution(SudokuPuzzle puzzle) {
+        assertGivensMatchSolution(puzzle, true);
+    }
+
+    static void assertGivensMatchSolution(SudokuPuzzle puzzle, boolean unique) {
+        int[][] givens = puzzle.getPuzzle();
+        int[][] solution = puzzle.getSolution();
+        assertTrue(BoardValidator.isValid(solution, BoardValidator.Mode.COMPLETE));
+        for (int cell = 0; cell < 81; cell++) {
+            int given = givens[cell / 9][cell % 9];
+            if (given != 0) {
+                assertEquals(solution[cell / 9][cell % 9], given, "cell " + cell);
+            }
+        }
+        if (unique) {
+            assertEquals(1, puzzle.getSolver().countSolutions(givens, 2));
+        }
+    }
+}
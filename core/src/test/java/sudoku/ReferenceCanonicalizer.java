@@ -0,0 +1,135 @@
+package sudoku;
+
+// Straightforward search for the canonical form defined by PuzzleCanonicalizer,
+// kept to check the fast implementation against. It fixes each of the 2 x 1296
+// transpositions and column orders in turn, then picks rows one at a time and
+// drops any branch whose rows already compare greater than the best board found
+// so far; a few milliseconds per board.
+// Instances keep scratch buffers and are not thread-safe.
+class ReferenceCanonicalizer {
+    private static final int[][] PERMUTATIONS = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+    };
+
+    private final int[] grid = new int[81];
+    private final int[] current = new int[81];
+    private final int[] best = new int[81];
+    private final int[] colOrder = new int[9];
+    private final int[] placedRows = new int[9];
+    // Digit relabeling in effect before each output row, and the next unused label
+    private final int[][] labels = new int[10][10];
+    private final int[] nextLabel = new int[10];
+    private boolean haveBest;
+    private int usedRows;
+
+    // Canonical form of the 9x9 board, 0 meaning empty
+    byte[] canonicalize(int[][] board) {
+        haveBest = false;
+        for (int transpose = 0; transpose < 2; transpose++) {
+            for (int row = 0; row < 9; row++) {
+                for (int col = 0; col < 9; col++) {
+                    grid[row * 9 + col] = transpose == 0 ? board[row][col] : board[col][row];
+                }
+            }
+            searchColumnOrders();
+        }
+        byte[] canonical = new byte[81];
+        for (int cell = 0; cell < 81; cell++) {
+            canonical[cell] = (byte) best[cell];
+        }
+        return canonical;
+    }
+
+    // Try every stack order with every column order inside the stacks
+    private void searchColumnOrders() {
+        for (int[] stacks : PERMUTATIONS) {
+            for (int[] first : PERMUTATIONS) {
+                for (int[] second : PERMUTATIONS) {
+                    for (int[] third : PERMUTATIONS) {
+                        for (int i = 0; i < 3; i++) {
+                            colOrder[i] = stacks[0] * 3 + first[i];
+                            colOrder[3 + i] = stacks[1] * 3 + second[i];
+                            colOrder[6 + i] = stacks[2] * 3 + third[i];
+                        }
+                        usedRows = 0;
+                        nextLabel[0] = 0;
+                        for (int digit = 0; digit < 10; digit++) {
+                            labels[0][digit] = 0;
+                        }
+                        searchRows(0, false);
+                    }
+                }
+            }
+        }
+    }
+
+    // Place a source row at output row i. less tells whether the rows placed so far
+    // are already smaller than the best board's. Returns true if the best board was
+    // replaced, in which case the rows placed so far are equal to the new best's
+    private boolean searchRows(int i, boolean less) {
+        if (i == 9) {
+            System.arraycopy(current, 0, best, 0, 81);
+            haveBest = true;
+            return true;
+        }
+
+        boolean updated = false;
+        for (int row = 0; row < 9; row++) {
+            if (!isAllowedRow(i, row)) {
+                continue;
+            }
+            int cmp = emitRow(i, row, less || !haveBest);
+            if (cmp > 0) {
+                continue;
+            }
+            usedRows |= 1 << row;
+            placedRows[i] = row;
+            if (searchRows(i + 1, cmp < 0)) {
+                updated = true;
+                less = false;
+            }
+            usedRows &= ~(1 << row);
+        }
+        return updated;
+    }
+
+    // Rows keep their bands together: the first row of an output band may come from
+    // any unused band, the next two from the same band as the row before them
+    private boolean isAllowedRow(int i, int row) {
+        if ((usedRows & (1 << row)) != 0) {
+            return false;
+        }
+        if (i % 3 != 0) {
+            return row / 3 == placedRows[i - 1] / 3;
+        }
+        return (usedRows & (0b111 << (row / 3 * 3))) == 0;
+    }
+
+    // Write the relabeled source row at output row i and compare it with the best
+    // board's row i, unless skipCompare is set. Returns the comparison result
+    private int emitRow(int i, int row, boolean skipCompare) {
+        int[] from = labels[i];
+        int[] to = labels[i + 1];
+        System.arraycopy(from, 0, to, 0, 10);
+        int next = nextLabel[i];
+        int cmp = 0;
+        for (int c = 0; c < 9; c++) {
+            int value = grid[row * 9 + colOrder[c]];
+            if (value != 0) {
+                if (to[value] == 0) {
+                    to[value] = ++next;
+                }
+                value = to[value];
+            }
+            current[i * 9 + c] = value;
+            if (cmp == 0 && !skipCompare) {
+                cmp = Integer.compare(value, best[i * 9 + c]);
+                if (cmp > 0) {
+                    return cmp;
+                }
+            }
+        }
+        nextLabel[i + 1] = next;
+        return skipCompare ? -1 : cmp;
+    }
+}
@@ -0,0 +1,62 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverMetricsTest {
+
+    // Powers of two are the upper bound of their bucket, one more starts the next
+    @Test
+    void nodeBucketsIncludeTheirBound() {
+        SolverMetrics metrics = new SolverMetrics();
+        for (long nodes : new long[]{0, 1, 2, 3, 4, 5, 8, 9}) {
+            metrics.record(null, stats(nodes, 0));
+        }
+        long[] expected = new long[SolverMetrics.BUCKETS];
+        expected[0] = 2;
+        expected[1] = 1;
+        expected[2] = 2;
+        expected[3] = 2;
+        expected[4] = 1;
+        assertArrayEquals(expected, metrics.getNodeHistogram(null));
+    }
+
+    // A call just over a microsecond bound must not be truncated into the bucket below
+    @Test
+    void timeIsRoundedUpToMicroseconds() {
+        SolverMetrics metrics = new SolverMetrics();
+        metrics.record(null, stats(1, 1000));
+        metrics.record(null, stats(1, 1001));
+        metrics.record(null, stats(1, 2000));
+        metrics.record(null, stats(1, 2001));
+        long[] expected = new long[SolverMetrics.BUCKETS];
+        expected[0] = 1;
+        expected[1] = 2;
+        expected[2] = 1;
+        assertArrayEquals(expected, metrics.getTimeHistogram(null));
+    }
+
+    @Test
+    void exportedBoundsMatchBuckets() throws IOException {
+        SolverMetrics metrics = new SolverMetrics();
+        metrics.record(SudokuPuzzle.Difficulty.EASY, stats(4, 4_000));
+        StringBuilder out = new StringBuilder();
+        metrics.writeTo(out);
+        String text = out.toString();
+        assertTrue(text.contains("sudoku_solver_nodes_bucket{difficulty=\"EASY\",le=\"2.0\"} 0\n"), text);
+        assertTrue(text.contains("sudoku_solver_nodes_bucket{difficulty=\"EASY\",le=\"4.0\"} 1\n"), text);
+        assertTrue(text.contains("sudoku_solver_seconds_bucket{difficulty=\"EASY\",le=\"2.0E-6\"} 0\n"), text);
+        assertTrue(text.contains("sudoku_solver_seconds_bucket{difficulty=\"EASY\",le=\"4.0E-6\"} 1\n"), text);
+    }
+
+    private static SolverStats stats(long nodes, long nanos) {
+        SolverStats stats = new SolverStats();
+        stats.nodes = nodes;
+        stats.nanos = nanos;
+        return stats;
+    }
+}
@@ -0,0 +1,62 @@
+package sudoku;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SudokuSolverTest {
+
+    @ParameterizedTest
+    @EnumSource(SudokuSolver.Engine.class)
+    void solvesHardestPuzzles(SudokuSolver.Engine engine) {
+        SudokuSolver solver = engine.create();
+        for (String line : Boards.HARDEST) {
+            int[][] givens = Boards.parse(line);
+            int[][] board = Boards.copy(givens);
+            assertTrue(solver.solve(board), line);
+            assertTrue(BoardValidator.isValid(board, BoardValidator.Mode.COMPLETE), line);
+            for (int cell = 0; cell < 81; cell++) {
+                int given = givens[cell / 9][cell % 9];
+                if (given != 0) {
+                    assertEquals(given, board[cell / 9][cell % 9], line);
+                }
+            }
+            assertEquals(1, solver.countSolutions(Boards.copy(givens), 2), line);
+        }
+    }
+
+    // 20-clue boards carved without a uniqueness check have anywhere from one to
+    // thousands of solutions, every engine has to count the same
+    @Test
+    void enginesAgreeOnSolutionCounts() {
+        PuzzleGenerator generator = new PuzzleGenerator(20240601L);
+        for (int i = 0; i < 20; i++) {
+            int[][] board = generator.generatePuzzle(SudokuPuzzle.Difficulty.EXTREME);
+            int expected = SudokuSolver.Engine.BACKTRACKING.create().countSolutions(Boards.copy(board), 1000);
+            for (SudokuSolver.Engine engine : SudokuSolver.Engine.values()) {
+                assertEquals(expected, engine.create().countSolutions(Boards.copy(board), 1000),
+                        engine + " on board " + i);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(SudokuSolver.Engine.class)
+    void countStopsAtLimit(SudokuSolver.Engine engine) {
+        assertEquals(100, engine.create().countSolutions(new int[9][9], 100));
+    }
+
+    // Top right cell can only be a 9, which its column already has
+    @ParameterizedTest
+    @EnumSource(SudokuSolver.Engine.class)
+    void reportsBoardsWithoutSolution(SudokuSolver.Engine engine) {
+        int[][] board = Boards.parse("12345678.........9" + ".".repeat(63));
+        SudokuSolver solver = engine.create();
+        assertEquals(0, solver.countSolutions(Boards.copy(board), 2));
+        assertFalse(solver.solve(board));
+    }
+}